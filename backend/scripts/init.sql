@@ -1,22 +1,96 @@
 -- Database initialization script for Student Pipeline
 CREATE DATABASE IF NOT EXISTS studentpipeline;
 
--- Create the student table
+-- Create the student table, partitioned by the upload (import batch) that loaded each row.
+-- Every upload is loaded into its own table and attached as a partition once complete, so an
+-- import can be rolled back by detaching and dropping its partition. Unique constraints on a
+-- partitioned table must include the partition key; student_id uniqueness across batches is
+-- enforced by the application when a batch is attached.
 CREATE TABLE IF NOT EXISTS student (
-    id BIGSERIAL PRIMARY KEY,
-    student_id BIGINT NOT NULL UNIQUE,
+    id BIGSERIAL,
+    student_id BIGINT NOT NULL,
     first_name VARCHAR(50) NOT NULL,
     last_name VARCHAR(50) NOT NULL,
     dob DATE NOT NULL,
     class_name VARCHAR(20) NOT NULL,
     score INTEGER NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    import_batch_id BIGINT NOT NULL DEFAULT 0,
+    row_hash BIGINT,
+    PRIMARY KEY (id, import_batch_id),
+    UNIQUE (student_id, import_batch_id)
+) PARTITION BY LIST (import_batch_id);
+
+-- Hash of the data columns, written by the loaders so upsert uploads skip unchanged rows.
+-- Added to the parent, so existing partitions get it too; older rows stay NULL and count as changed.
+ALTER TABLE student ADD COLUMN IF NOT EXISTS row_hash BIGINT;
+
+-- Rows that do not come from an upload
+CREATE TABLE IF NOT EXISTS student_batch_0 PARTITION OF student FOR VALUES IN (0);
+
+-- One row per upload; its partition is student_batch_<id>
+CREATE SEQUENCE IF NOT EXISTS import_batch_seq START WITH 1;
+
+CREATE TABLE IF NOT EXISTS import_batch (
+    id BIGINT PRIMARY KEY,
+    file_name VARCHAR(255),
+    operation VARCHAR(50) NOT NULL,
+    record_count BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attached_at TIMESTAMP
+);
+
+-- Results of processed files by content fingerprint (SHA-256 plus size), so a resubmitted file is
+-- answered from its recorded result; see ImportLedgerService
+CREATE SEQUENCE IF NOT EXISTS import_ledger_seq START WITH 1;
+
+CREATE TABLE IF NOT EXISTS import_ledger (
+    id BIGINT PRIMARY KEY,
+    operation VARCHAR(50) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    file_size BIGINT NOT NULL,
+    file_name VARCHAR(255),
+    import_batch_id BIGINT,
+    result_path VARCHAR(1024),
+    result_name VARCHAR(255),
+    result_size BIGINT,
+    result_modified_at BIGINT,
+    records_processed BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE INDEX IF NOT EXISTS idx_import_ledger_fingerprint ON import_ledger(fingerprint, file_size, operation);
+
 -- Create indexes for better performance
-CREATE INDEX IF NOT EXISTS idx_student_student_id ON student(student_id);
-CREATE INDEX IF NOT EXISTS idx_student_class_name ON student(class_name);
+-- Student ID lookups use the (student_id, import_batch_id) unique index, so a student_id index would
+-- only be one more b-tree to maintain per row
+DROP INDEX IF EXISTS idx_student_student_id;
+-- Class filters are always sorted by student_id: (class_name, student_id) answers them with an index
+-- range scan in the requested order and makes a class_name-only index redundant
+CREATE INDEX IF NOT EXISTS idx_student_class_name_student_id ON student(class_name, student_id);
+DROP INDEX IF EXISTS idx_student_class_name;
+-- Score range filters (minScore/maxScore)
 CREATE INDEX IF NOT EXISTS idx_student_score ON student(score);
 
+-- Date-of-birth range filters (dobFrom/dobTo). A B-tree rather than BRIN: dates of birth are
+-- random with respect to load order, so BRIN block ranges would each span almost every date
+CREATE INDEX IF NOT EXISTS idx_student_dob ON student(dob);
+
+-- Case-insensitive name search (GET /api/students?q=): trigram GIN index on the full name, serving
+-- both ILIKE '%text%' and prefix patterns. The expression must match StudentSearchService.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_student_name_trgm ON student USING gin ((first_name || ' ' || last_name) gin_trgm_ops);
+
+-- Per-class aggregates maintained by the load and delete paths in the same transaction,
+-- so statistics read one row per class instead of scanning the student table
+CREATE TABLE IF NOT EXISTS student_class_summary (
+    class_name VARCHAR(20) PRIMARY KEY,
+    student_count BIGINT NOT NULL,
+    score_sum BIGINT NOT NULL,
+    min_score INTEGER,
+    max_score INTEGER,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Create a script data directory path setup
 -- This will be handled by the application configuration
\ No newline at end of file
@@ -0,0 +1,52 @@
+#!/bin/bash
+# Load test of the report endpoints: fires concurrent clients at the paged JSON endpoint and at the
+# NDJSON stream, and prints completed/failed requests, throughput and mean time to first byte.
+#
+# Usage: ./load-test-reports.sh [base-url] [clients] [requests-per-client] [stream-range]
+#   e.g. ./load-test-reports.sh http://localhost:8080 500 4 5000
+# Run once with VIRTUAL_THREADS_ENABLED=false and once with true to compare thread modes.
+
+BASE_URL="${1:-http://localhost:8080}"
+CLIENTS="${2:-200}"
+REQUESTS_PER_CLIENT="${3:-5}"
+STREAM_RANGE="${4:-5000}"
+TOTAL=$((CLIENTS * REQUESTS_PER_CLIENT))
+
+if ! curl -sf "$BASE_URL/api/health" -o /dev/null; then
+    echo "Backend not reachable at $BASE_URL"
+    exit 1
+fi
+
+# One request against a random page or student ID range; prints "status ttfb total"
+request() {
+    local n=$((RANDOM % 200))
+    local url
+    if [ "$1" = "stream" ]; then
+        url="$BASE_URL/api/students/stream?fromStudentId=$((n * 1000 + 1))&toStudentId=$((n * 1000 + STREAM_RANGE))"
+    else
+        url="$BASE_URL/api/students?page=$n&size=100"
+    fi
+    curl -s -o /dev/null --max-time 120 -w '%{http_code} %{time_starttransfer} %{time_total}\n' "$url"
+}
+export -f request
+export BASE_URL STREAM_RANGE
+
+run() {
+    local mode="$1"
+    echo "== $mode: $CLIENTS clients x $REQUESTS_PER_CLIENT requests"
+    local start end
+    start=$(date +%s%N)
+    results=$(seq "$TOTAL" | xargs -P "$CLIENTS" -I{} bash -c "request $mode")
+    end=$(date +%s%N)
+
+    echo "$results" | awk -v elapsed="$(( (end - start) / 1000000 ))" '
+        $1 == 200 { ok++; ttfb += $2; total += $3; next }
+        NF > 0 { failed++ }
+        END {
+            printf "   completed: %d, failed: %d, elapsed: %d ms, requests/s: %.1f\n", ok, failed, elapsed, ok * 1000 / elapsed
+            if (ok > 0) printf "   mean time to first byte: %.0f ms, mean total: %.0f ms\n", ttfb * 1000 / ok, total * 1000 / ok
+        }'
+}
+
+run page
+run stream
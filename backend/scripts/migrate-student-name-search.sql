@@ -0,0 +1,34 @@
+-- Adds the name search trigram index of init.sql to an existing database without blocking writes
+-- to the student table. Run with psql (it uses \gexec), outside a transaction, while the
+-- application keeps running:
+--   psql -d dataprocessing -f scripts/migrate-student-name-search.sql
+-- The expression must match StudentSearchService.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Unpartitioned table: one concurrent build
+SELECT 'CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_student_name_trgm ON student ' ||
+       'USING gin ((first_name || '' '' || last_name) gin_trgm_ops)'
+WHERE NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'student'::regclass)
+\gexec
+
+-- Partitioned table: CONCURRENTLY is not supported on the parent, so create the parent index
+-- invalid (ON ONLY), build each partition's index concurrently and attach it; the parent index
+-- becomes valid once every partition has one. Partitions attached later get theirs on attach.
+SELECT 'CREATE INDEX IF NOT EXISTS idx_student_name_trgm ON ONLY student ' ||
+       'USING gin ((first_name || '' '' || last_name) gin_trgm_ops)'
+WHERE EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'student'::regclass)
+\gexec
+
+SELECT format('CREATE INDEX CONCURRENTLY IF NOT EXISTS %I ON %I ' ||
+              'USING gin ((first_name || '' '' || last_name) gin_trgm_ops)', c.relname || '_name_trgm', c.relname)
+FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'student'::regclass
+\gexec
+
+SELECT format('ALTER INDEX idx_student_name_trgm ATTACH PARTITION %I', c.relname || '_name_trgm')
+FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'student'::regclass
+  AND NOT EXISTS (SELECT 1 FROM pg_inherits ii
+                  WHERE ii.inhparent = 'idx_student_name_trgm'::regclass
+                    AND ii.inhrelid = (c.relname || '_name_trgm')::regclass)
+\gexec
@@ -0,0 +1,49 @@
+-- Converts an existing (unpartitioned) student table to the import-batch partitioned layout
+-- of init.sql. Existing rows become import batch 0. Run once, with the application stopped.
+BEGIN;
+
+ALTER TABLE student ADD COLUMN IF NOT EXISTS import_batch_id BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE student ADD COLUMN IF NOT EXISTS row_hash BIGINT;
+
+-- The old table becomes the batch 0 partition; its indexes are recreated as partitioned indexes
+DROP INDEX IF EXISTS idx_student_student_id;
+DROP INDEX IF EXISTS idx_student_class_name;
+DROP INDEX IF EXISTS idx_student_score;
+ALTER TABLE student RENAME TO student_batch_0;
+ALTER TABLE student_batch_0 ADD CONSTRAINT student_batch_0_import_batch_check CHECK (import_batch_id = 0);
+
+-- Keeps using the old id sequence so ids stay unique across batches
+CREATE TABLE student (
+    id BIGINT NOT NULL DEFAULT nextval('student_id_seq'),
+    student_id BIGINT NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    dob DATE NOT NULL,
+    class_name VARCHAR(20) NOT NULL,
+    score INTEGER NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    import_batch_id BIGINT NOT NULL DEFAULT 0,
+    row_hash BIGINT,
+    PRIMARY KEY (id, import_batch_id),
+    UNIQUE (student_id, import_batch_id)
+) PARTITION BY LIST (import_batch_id);
+
+-- The CHECK constraint lets the attach skip its validation scan
+ALTER TABLE student ATTACH PARTITION student_batch_0 FOR VALUES IN (0);
+
+CREATE INDEX IF NOT EXISTS idx_student_class_name_student_id ON student(class_name, student_id);
+CREATE INDEX IF NOT EXISTS idx_student_score ON student(score);
+CREATE INDEX IF NOT EXISTS idx_student_dob ON student(dob);
+
+CREATE SEQUENCE IF NOT EXISTS import_batch_seq START WITH 1;
+
+CREATE TABLE IF NOT EXISTS import_batch (
+    id BIGINT PRIMARY KEY,
+    file_name VARCHAR(255),
+    operation VARCHAR(50) NOT NULL,
+    record_count BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attached_at TIMESTAMP
+);
+
+COMMIT;
@@ -0,0 +1,99 @@
+package com.studentpipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionConfig {
+
+    private boolean enabled = true;
+
+    // Concurrent operations per type
+    private int maxGenerations = 1;
+    private int maxConversions = 2;
+    private int maxUploads = 2;
+    private int maxExports = 3;
+    // Each NDJSON report stream holds a read-pool connection while the client reads; keep below the pool size
+    private int maxReportStreams = 4;
+
+    // Share of the maximum heap that admitted operations may reserve together
+    private int memoryBudgetPercent = 60;
+
+    // How long a request waits for a slot before it is rejected
+    private long queueTimeoutMs = 2000;
+
+    private long retryAfterSeconds = 30;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxGenerations() {
+        return maxGenerations;
+    }
+
+    public void setMaxGenerations(int maxGenerations) {
+        this.maxGenerations = maxGenerations;
+    }
+
+    public int getMaxConversions() {
+        return maxConversions;
+    }
+
+    public void setMaxConversions(int maxConversions) {
+        this.maxConversions = maxConversions;
+    }
+
+    public int getMaxUploads() {
+        return maxUploads;
+    }
+
+    public void setMaxUploads(int maxUploads) {
+        this.maxUploads = maxUploads;
+    }
+
+    public int getMaxExports() {
+        return maxExports;
+    }
+
+    public void setMaxExports(int maxExports) {
+        this.maxExports = maxExports;
+    }
+
+    public int getMaxReportStreams() {
+        return maxReportStreams;
+    }
+
+    public void setMaxReportStreams(int maxReportStreams) {
+        this.maxReportStreams = maxReportStreams;
+    }
+
+    public int getMemoryBudgetPercent() {
+        return memoryBudgetPercent;
+    }
+
+    public void setMemoryBudgetPercent(int memoryBudgetPercent) {
+        this.memoryBudgetPercent = memoryBudgetPercent;
+    }
+
+    public long getQueueTimeoutMs() {
+        return queueTimeoutMs;
+    }
+
+    public void setQueueTimeoutMs(long queueTimeoutMs) {
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
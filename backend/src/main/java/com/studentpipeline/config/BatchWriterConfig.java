@@ -0,0 +1,61 @@
+package com.studentpipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "batch-writer")
+public class BatchWriterConfig {
+
+    private int initialSize = 5000;
+
+    private int minSize = 500;
+
+    private int maxSize = 50000;
+
+    // Rows added to the batch size after a batch that was at least as fast as the best so far
+    private int step = 1000;
+
+    // Batches slower than this halve the batch size, bounding memory and the cost of a bisected batch
+    private long targetLatencyMs = 2000;
+
+    public int getInitialSize() {
+        return initialSize;
+    }
+
+    public void setInitialSize(int initialSize) {
+        this.initialSize = initialSize;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public void setStep(int step) {
+        this.step = step;
+    }
+
+    public long getTargetLatencyMs() {
+        return targetLatencyMs;
+    }
+
+    public void setTargetLatencyMs(long targetLatencyMs) {
+        this.targetLatencyMs = targetLatencyMs;
+    }
+}
@@ -0,0 +1,79 @@
+package com.studentpipeline.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Two independently sized Hikari pools: the primary (spring.datasource) for writes and the read
+ * pool (read-datasource) for read-only transactions, e.g. report pages and exports. The read pool
+ * can point at a replica; by default it is a second pool on the primary server, which still keeps
+ * a bulk load from taking every connection the reports need.
+ * <p>
+ * Routing is done by LazyConnectionDataSourceProxy: it only fetches a real connection at the first
+ * statement, once the transaction has marked the connection read-only, and then takes it from the
+ * read pool. Work outside a read-only transaction (including plain JdbcTemplate calls) uses the
+ * primary, as do read-only transactions started under ReadRouting.onPrimary (cache fills).
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("read-datasource")
+    @ConditionalOnProperty(prefix = "read-datasource", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public DataSourceProperties readDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("read-datasource.hikari")
+    @ConditionalOnProperty(prefix = "read-datasource", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public HikariDataSource readPool(@Qualifier("readDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryPool") DataSource primaryPool,
+                                 @Qualifier("readPool") ObjectProvider<DataSource> readPool) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryPool);
+        readPool.ifAvailable(read -> dataSource.setReadOnlyDataSource(readTarget(read, primaryPool)));
+        return dataSource;
+    }
+
+    private static DataSource readTarget(DataSource readPool, DataSource primaryPool) {
+        return new DelegatingDataSource(readPool) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return (ReadRouting.isPrimaryForced() ? primaryPool : readPool).getConnection();
+            }
+        };
+    }
+}
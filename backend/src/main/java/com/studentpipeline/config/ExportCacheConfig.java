@@ -0,0 +1,31 @@
+package com.studentpipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "export-cache")
+public class ExportCacheConfig {
+
+    // Off by default: a cached export is fully rendered to disk before its first byte is sent, which
+    // suits repeated dashboard exports but not one-off filters, which lose cursor streaming
+    private boolean enabled = false;
+
+    private long maxSizeMb = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxSizeMb() {
+        return maxSizeMb;
+    }
+
+    public void setMaxSizeMb(long maxSizeMb) {
+        this.maxSizeMb = maxSizeMb;
+    }
+}
@@ -0,0 +1,41 @@
+package com.studentpipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "import-batch")
+public class ImportBatchConfig {
+
+    // Sort memory for the index builds of an attach, set for the attaching transaction only
+    private String maintenanceWorkMem = "512MB";
+
+    private int parallelMaintenanceWorkers = 4;
+
+    // Partitions allowed before the oldest are folded into the archive partition
+    private int maxPartitions = 64;
+
+    public String getMaintenanceWorkMem() {
+        return maintenanceWorkMem;
+    }
+
+    public void setMaintenanceWorkMem(String maintenanceWorkMem) {
+        this.maintenanceWorkMem = maintenanceWorkMem;
+    }
+
+    public int getParallelMaintenanceWorkers() {
+        return parallelMaintenanceWorkers;
+    }
+
+    public void setParallelMaintenanceWorkers(int parallelMaintenanceWorkers) {
+        this.parallelMaintenanceWorkers = parallelMaintenanceWorkers;
+    }
+
+    public int getMaxPartitions() {
+        return maxPartitions;
+    }
+
+    public void setMaxPartitions(int maxPartitions) {
+        this.maxPartitions = maxPartitions;
+    }
+}
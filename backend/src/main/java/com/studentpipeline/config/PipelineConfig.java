@@ -0,0 +1,31 @@
+package com.studentpipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "pipeline")
+public class PipelineConfig {
+
+    // Background jobs that use JDBC (exports, replica loads) running at once, whatever the thread count
+    private int maxConcurrentJdbcJobs = 4;
+
+    // Size of the platform thread pool used when virtual threads are off or unavailable
+    private int platformThreads = 2 * Runtime.getRuntime().availableProcessors();
+
+    public int getMaxConcurrentJdbcJobs() {
+        return maxConcurrentJdbcJobs;
+    }
+
+    public void setMaxConcurrentJdbcJobs(int maxConcurrentJdbcJobs) {
+        this.maxConcurrentJdbcJobs = maxConcurrentJdbcJobs;
+    }
+
+    public int getPlatformThreads() {
+        return platformThreads;
+    }
+
+    public void setPlatformThreads(int platformThreads) {
+        this.platformThreads = platformThreads;
+    }
+}
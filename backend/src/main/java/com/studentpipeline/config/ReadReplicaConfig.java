@@ -0,0 +1,40 @@
+package com.studentpipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "read-replica")
+public class ReadReplicaConfig {
+
+    private boolean enabled = false;
+
+    private int refreshBatchSize = 10000;
+
+    // Upper bound on how long committed changes are served from the database before being merged
+    private long mergeIntervalMs = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRefreshBatchSize() {
+        return refreshBatchSize;
+    }
+
+    public void setRefreshBatchSize(int refreshBatchSize) {
+        this.refreshBatchSize = refreshBatchSize;
+    }
+
+    public long getMergeIntervalMs() {
+        return mergeIntervalMs;
+    }
+
+    public void setMergeIntervalMs(long mergeIntervalMs) {
+        this.mergeIntervalMs = mergeIntervalMs;
+    }
+}
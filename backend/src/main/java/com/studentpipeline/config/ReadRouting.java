@@ -0,0 +1,49 @@
+package com.studentpipeline.config;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Per-thread override that sends read-only transactions to the primary pool instead of the
+ * read pool (see DataSourceConfig). Used for reads whose result is cached: a read pool pointed
+ * at a replica may not have replayed the commit that just invalidated the cache, and its stale
+ * rows would then be cached as current.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    private ReadRouting() {
+    }
+
+    @FunctionalInterface
+    public interface Work<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY.get();
+    }
+
+    /**
+     * Run work with read-only transactions it starts on this thread routed to the primary
+     */
+    public static <T, E extends Exception> T onPrimary(Work<T, E> work) throws E {
+        boolean previous = PRIMARY.get();
+        PRIMARY.set(true);
+        try {
+            return work.run();
+        } finally {
+            PRIMARY.set(previous);
+        }
+    }
+
+    /**
+     * Wrap a task handed to another thread so it reads from the same pool as the submitting thread
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        if (!isPrimaryForced()) {
+            return task;
+        }
+        return () -> onPrimary(task::call);
+    }
+}
@@ -0,0 +1,49 @@
+package com.studentpipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "student-cache")
+public class StudentCacheConfig {
+
+    private boolean enabled = true;
+
+    private long maxStudents = 100000;
+
+    private long maxPages = 2000;
+
+    private long ttlSeconds = 600;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxStudents() {
+        return maxStudents;
+    }
+
+    public void setMaxStudents(long maxStudents) {
+        this.maxStudents = maxStudents;
+    }
+
+    public long getMaxPages() {
+        return maxPages;
+    }
+
+    public void setMaxPages(long maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
@@ -0,0 +1,131 @@
+package com.studentpipeline.controller;
+
+import com.studentpipeline.dto.ApiResponse;
+import com.studentpipeline.service.ConcurrencyBenchmarkService;
+import com.studentpipeline.service.ReadPathBenchmarkService;
+import com.studentpipeline.service.ScoreAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Benchmark endpoints. They put real load on the database, so they only exist when the
+ * "benchmark" profile is active and must not be enabled on a production instance.
+ */
+@RestController
+@RequestMapping("/api")
+@Profile("benchmark")
+public class BenchmarkController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkController.class);
+
+    @Autowired
+    private ConcurrencyBenchmarkService concurrencyBenchmarkService;
+
+    @Autowired
+    private ScoreAnalyticsService scoreAnalyticsService;
+
+    @Autowired
+    private ReadPathBenchmarkService readPathBenchmarkService;
+
+    /**
+     * Compare report throughput on platform and virtual threads, optionally alongside an insert load
+     * POST /api/students/concurrency-benchmark?concurrency=200&requests=5000&withLoad=false
+     */
+    @PostMapping("/students/concurrency-benchmark")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> benchmarkConcurrency(
+            @RequestParam(defaultValue = "200") int concurrency,
+            @RequestParam(defaultValue = "5000") int requests,
+            @RequestParam(defaultValue = "false") boolean withLoad) {
+
+        logger.info("Benchmarking concurrent reports - concurrency: {}, requests: {}, withLoad: {}",
+                   concurrency, requests, withLoad);
+
+        if (concurrency <= 0 || concurrency > 10_000) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Concurrency must be between 1 and 10000"));
+        }
+        if (requests <= 0 || requests > 1_000_000) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Requests must be between 1 and 1000000"));
+        }
+
+        try {
+            Map<String, Object> results = concurrencyBenchmarkService.benchmark(concurrency, requests, withLoad);
+            return ResponseEntity.ok(ApiResponse.success("Benchmark completed", results));
+
+        } catch (Exception e) {
+            logger.error("Error benchmarking concurrent reports: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to benchmark concurrent reports: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Time both analytics strategies against each other (uncached)
+     * GET /api/students/analytics/benchmark?runs=3
+     */
+    @GetMapping("/students/analytics/benchmark")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> benchmarkAnalytics(
+            @RequestParam(defaultValue = "3") int runs,
+            @RequestParam(defaultValue = "10") int bucketWidth) {
+
+        logger.info("Benchmarking analytics strategies - runs: {}", runs);
+
+        if (runs <= 0 || runs > 20) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Runs must be between 1 and 20"));
+        }
+        if (!scoreAnalyticsService.isValidBucketWidth(bucketWidth)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Bucket width must be between 1 and " + ScoreAnalyticsService.MAX_BUCKET_WIDTH));
+        }
+
+        try {
+            Map<String, Object> results = scoreAnalyticsService.benchmark(runs, bucketWidth);
+            return ResponseEntity.ok(ApiResponse.success("Benchmark completed", results));
+
+        } catch (Exception e) {
+            logger.error("Error benchmarking analytics: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to benchmark analytics: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Compare entity and DTO projection reads (latency and bytes allocated per row)
+     * GET /api/students/read-benchmark?runs=3&pageSize=100&className=Class1
+     */
+    @GetMapping("/students/read-benchmark")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> benchmarkReadPaths(
+            @RequestParam(defaultValue = "3") int runs,
+            @RequestParam(defaultValue = "100") int pageSize,
+            @RequestParam(required = false) String className) {
+
+        logger.info("Benchmarking read paths - runs: {}, pageSize: {}, className: {}", runs, pageSize, className);
+
+        if (runs <= 0 || runs > 20) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Runs must be between 1 and 20"));
+        }
+        if (pageSize <= 0 || pageSize > 1000) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Page size must be between 1 and 1000"));
+        }
+
+        try {
+            Map<String, Object> results = readPathBenchmarkService.benchmark(runs, pageSize, className);
+            return ResponseEntity.ok(ApiResponse.success("Benchmark completed", results));
+
+        } catch (Exception e) {
+            logger.error("Error benchmarking read paths: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to benchmark read paths: " + e.getMessage()));
+        }
+    }
+}
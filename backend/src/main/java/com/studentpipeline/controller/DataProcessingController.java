@@ -5,9 +5,12 @@ import com.studentpipeline.dto.ApiResponse;
 import com.studentpipeline.dto.FileOperationResponse;
 import com.studentpipeline.dto.GenerateExcelRequest;
 import com.studentpipeline.dto.ProgressResponse;
+import com.studentpipeline.service.AdmissionControlService;
 import com.studentpipeline.service.CsvToDatabaseService;
 import com.studentpipeline.service.ExcelGenerationService;
 import com.studentpipeline.service.ExcelToCsvService;
+import com.studentpipeline.service.ParquetToDatabaseService;
+import com.studentpipeline.service.PipelineExecutor;
 import com.studentpipeline.service.ProgressTracker;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -19,8 +22,9 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api")
@@ -37,10 +41,19 @@ public class DataProcessingController {
 
     @Autowired
     private CsvToDatabaseService csvToDatabaseService;
+
+    @Autowired
+    private ParquetToDatabaseService parquetToDatabaseService;
     
     @Autowired
     private ProgressTracker progressTracker;
 
+    @Autowired
+    private PipelineExecutor pipelineExecutor;
+
+    @Autowired
+    private AdmissionControlService admissionControlService;
+
     /**
      * Generate Excel file with specified number of student records (async)
      * POST /api/generate-excel
@@ -52,12 +65,17 @@ public class DataProcessingController {
         logger.info("Received request to generate Excel with {} records, fileName: {}", 
                    request.getRecords(), request.getFileName());
 
+        // Outside the try, so a rejection reaches GlobalExceptionHandler and is answered with 429
+        AdmissionControlService.Permit permit = admissionControlService.admit(
+                AdmissionControlService.Operation.GENERATION,
+                admissionControlService.estimateGeneration(request.getRecords()));
+
         try {
             String operationId = UUID.randomUUID().toString();
             
-            // Start async generation
-            CompletableFuture.runAsync(() -> {
-                try {
+            // Start async generation; the permit is held until the job ends
+            pipelineExecutor.runAsync(() -> {
+                try (permit) {
                     excelGenerationService.generateExcel(
                             request.getRecords(), request.getFileName(), operationId);
                 } catch (IOException e) {
@@ -70,6 +88,7 @@ public class DataProcessingController {
             return ResponseEntity.ok(ApiResponse.success("Excel generation started", operationId));
             
         } catch (Exception e) {
+            permit.close();
             logger.error("Unexpected error during Excel generation: {}", e.getMessage(), e);
             return ResponseEntity.status(500)
                     .body(ApiResponse.error("Unexpected error occurred: " + e.getMessage()));
@@ -97,11 +116,12 @@ public class DataProcessingController {
 
     /**
      * Convert Excel file to CSV with score adjustment (+10)
-     * POST /api/convert-excel-to-csv
+     * POST /api/convert-excel-to-csv?force=false
      */
     @PostMapping("/convert-excel-to-csv")
     public ResponseEntity<ApiResponse<FileOperationResponse>> convertExcelToCsv(
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "force", defaultValue = "false") boolean force) {
         
         logger.info("Received request to convert Excel to CSV, file: {}", file.getOriginalFilename());
 
@@ -116,8 +136,12 @@ public class DataProcessingController {
                     .body(ApiResponse.error("File must be an Excel file (.xlsx or .xls)"));
         }
 
+        AdmissionControlService.Permit permit = admissionControlService.admit(
+                AdmissionControlService.Operation.CONVERSION,
+                admissionControlService.estimateConversion(file.getSize()));
+
         try {
-            FileOperationResponse response = excelToCsvService.convertExcelToCsv(file);
+            FileOperationResponse response = excelToCsvService.convertExcelToCsv(file, force);
             
             logger.info("Excel to CSV conversion completed successfully: {}", response.getPath());
             return ResponseEntity.ok(ApiResponse.success("Excel converted to CSV successfully", response));
@@ -130,18 +154,27 @@ public class DataProcessingController {
             logger.error("Unexpected error during Excel to CSV conversion: {}", e.getMessage(), e);
             return ResponseEntity.status(500)
                     .body(ApiResponse.error("Unexpected error occurred: " + e.getMessage()));
+        } finally {
+            permit.close();
         }
     }
 
     /**
      * Upload CSV file and save to database
-     * POST /api/upload-csv-to-db
+     * POST /api/upload-csv-to-db?mode=insert|upsert&force=false
      */
     @PostMapping("/upload-csv-to-db")
     public ResponseEntity<ApiResponse<FileOperationResponse>> uploadCsvToDatabase(
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "insert") String mode,
+            @RequestParam(value = "force", defaultValue = "false") boolean force) {
         
-        logger.info("Received request to upload CSV to database, file: {}", file.getOriginalFilename());
+        logger.info("Received request to upload CSV to database, file: {}, mode: {}", file.getOriginalFilename(), mode);
+
+        if (!mode.equalsIgnoreCase("insert") && !mode.equalsIgnoreCase("upsert")) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Mode must be 'insert' or 'upsert'"));
+        }
 
         // Validate file
         if (file.isEmpty()) {
@@ -154,8 +187,12 @@ public class DataProcessingController {
                     .body(ApiResponse.error("File must be a CSV file (.csv)"));
         }
 
+        AdmissionControlService.Permit permit = admissionControlService.admit(
+                AdmissionControlService.Operation.UPLOAD,
+                admissionControlService.estimateUpload(file.getSize()));
+
         try {
-            FileOperationResponse response = csvToDatabaseService.uploadCsvToDatabase(file);
+            FileOperationResponse response = csvToDatabaseService.uploadCsvToDatabase(file, mode.equalsIgnoreCase("upsert"), force);
             
             logger.info("CSV to database upload completed successfully. Records processed: {}", 
                        response.getRecordsProcessed());
@@ -173,6 +210,58 @@ public class DataProcessingController {
             logger.error("Unexpected error during CSV upload: {}", e.getMessage(), e);
             return ResponseEntity.status(500)
                     .body(ApiResponse.error("Unexpected error occurred: " + e.getMessage()));
+        } finally {
+            permit.close();
+        }
+    }
+
+    /**
+     * Upload Parquet file (student export schema) and save to database
+     * POST /api/upload-parquet-to-db?force=false
+     */
+    @PostMapping("/upload-parquet-to-db")
+    public ResponseEntity<ApiResponse<FileOperationResponse>> uploadParquetToDatabase(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "force", defaultValue = "false") boolean force) {
+
+        logger.info("Received request to upload Parquet to database, file: {}", file.getOriginalFilename());
+
+        // Validate file
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("File is empty"));
+        }
+
+        if (!isParquetFile(file)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("File must be a Parquet file (.parquet)"));
+        }
+
+        AdmissionControlService.Permit permit = admissionControlService.admit(
+                AdmissionControlService.Operation.UPLOAD,
+                admissionControlService.estimateUpload(file.getSize()));
+
+        try {
+            FileOperationResponse response = parquetToDatabaseService.uploadParquetToDatabase(file, force);
+
+            logger.info("Parquet to database upload completed successfully. Records processed: {}",
+                       response.getRecordsProcessed());
+            return ResponseEntity.ok(ApiResponse.success("Parquet uploaded to database successfully", response));
+
+        } catch (IllegalArgumentException e) {
+            logger.error("Parquet format error: {}", e.getMessage());
+            return ResponseEntity.status(400)
+                    .body(ApiResponse.error("Parquet format error: " + e.getMessage()));
+        } catch (IOException e) {
+            logger.error("Error uploading Parquet to database: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to upload Parquet to database: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Unexpected error during Parquet upload: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Unexpected error occurred: " + e.getMessage()));
+        } finally {
+            permit.close();
         }
     }
 
@@ -184,6 +273,17 @@ public class DataProcessingController {
         return ResponseEntity.ok(ApiResponse.success("Service is running"));
     }
 
+    /**
+     * Get admission control and pipeline executor statistics
+     * GET /api/admission/stats
+     */
+    @GetMapping("/admission/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAdmissionStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(admissionControlService.getStats());
+        stats.put("pipeline", pipelineExecutor.getStats());
+        return ResponseEntity.ok(ApiResponse.success("Admission statistics retrieved successfully", stats));
+    }
+
     // Helper methods
 
     private boolean isExcelFile(MultipartFile file) {
@@ -206,4 +306,9 @@ public class DataProcessingController {
                 contentType.equals("text/plain")
         )) || (fileName != null && fileName.endsWith(".csv"));
     }
+
+    private boolean isParquetFile(MultipartFile file) {
+        String fileName = file.getOriginalFilename();
+        return fileName != null && fileName.endsWith(".parquet");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.studentpipeline.controller;
+
+import com.studentpipeline.dto.ApiResponse;
+import com.studentpipeline.dto.ExportJobRequest;
+import com.studentpipeline.dto.ProgressResponse;
+import com.studentpipeline.model.StudentFilter;
+import com.studentpipeline.service.AdmissionControlService;
+import com.studentpipeline.service.ExportJobService;
+import com.studentpipeline.service.PipelineExecutor;
+import com.studentpipeline.service.ProgressTracker;
+import com.studentpipeline.util.FileStreaming;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ExportJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobController.class);
+
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @Autowired
+    private ProgressTracker progressTracker;
+
+    @Autowired
+    private PipelineExecutor pipelineExecutor;
+
+    @Autowired
+    private AdmissionControlService admissionControlService;
+
+    /**
+     * Start a background export (async)
+     * POST /api/exports
+     */
+    @PostMapping("/exports")
+    public ResponseEntity<ApiResponse<String>> startExport(@Valid @RequestBody ExportJobRequest request) {
+        logger.info("Received request to start background export: {}", request);
+
+        if (!exportJobService.isSupportedFormat(request.getFormat())) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Invalid export format. Supported formats: excel, csv, pdf, parquet"));
+        }
+
+        String rangeError = StudentFilter.validateRanges(request.getMinScore(), request.getMaxScore(),
+                request.getDobFrom(), request.getDobTo());
+        if (rangeError != null) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(rangeError));
+        }
+
+        // Background exports always render from a cursor; a rejection is answered with 429
+        AdmissionControlService.Permit permit = admissionControlService.admit(
+                AdmissionControlService.Operation.EXPORT, admissionControlService.estimateStreamedExport());
+
+        try {
+            String operationId = UUID.randomUUID().toString();
+            // Registered up front so the progress endpoint answers before the job picks up
+            progressTracker.startProgress(operationId, 0);
+
+            // Start async export
+            pipelineExecutor.runJdbcAsync(() -> {
+                try (permit) {
+                    exportJobService.runExport(operationId, request);
+                } catch (Exception e) {
+                    logger.error("Error in async export {}: {}", operationId, e.getMessage(), e);
+                    progressTracker.failProgress(operationId, "Failed: " + e.getMessage());
+                }
+            });
+
+            logger.info("Background export started with operationId: {}", operationId);
+            return ResponseEntity.accepted().body(ApiResponse.success("Export started", operationId));
+
+        } catch (Exception e) {
+            permit.close();
+            logger.error("Unexpected error starting export: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get progress of a background export
+     * GET /api/exports/{operationId}
+     */
+    @GetMapping("/exports/{operationId}")
+    public ResponseEntity<ApiResponse<ProgressResponse>> getExportProgress(@PathVariable String operationId) {
+        logger.debug("Fetching export progress for operationId: {}", operationId);
+
+        ProgressResponse progress = progressTracker.getProgress(operationId);
+
+        if (progress == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("Progress retrieved", progress));
+    }
+
+    /**
+     * Download a finished export. Supports single HTTP byte ranges so interrupted
+     * downloads can be resumed; the file is sent with FileChannel.transferTo.
+     * GET /api/exports/{operationId}/file
+     */
+    @GetMapping("/exports/{operationId}/file")
+    public ResponseEntity<?> downloadExport(
+            @PathVariable String operationId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader) {
+
+        logger.info("Downloading export {}, range: {}", operationId, rangeHeader);
+
+        try {
+            Path exportFile = exportJobService.findExportFile(operationId);
+
+            if (exportFile == null) {
+                ProgressResponse progress = progressTracker.getProgress(operationId);
+                if (progress != null && !progress.isCompleted()) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(ApiResponse.error("Export is still in progress"));
+                }
+                return ResponseEntity.status(404)
+                        .body(ApiResponse.error("Export not found: " + operationId));
+            }
+
+            long fileLength = Files.size(exportFile);
+            long start = 0;
+            long end = fileLength - 1;
+            boolean partial = false;
+
+            if (rangeHeader != null) {
+                try {
+                    List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                    // Multi-range requests are answered with the full file, which RFC 9110 allows
+                    if (ranges.size() == 1) {
+                        start = ranges.get(0).getRangeStart(fileLength);
+                        end = ranges.get(0).getRangeEnd(fileLength);
+                        partial = true;
+                    }
+                } catch (IllegalArgumentException e) {
+                    start = fileLength; // Unparseable range, answered as not satisfiable below
+                }
+                if (start >= fileLength || start > end) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength)
+                            .build();
+                }
+            }
+
+            long length = end - start + 1;
+            StreamingResponseBody body = FileStreaming.transfer(exportFile, start, length);
+
+            String fileName = exportJobService.getDownloadFileName(operationId, exportFile);
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(length);
+            if (partial) {
+                response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileLength);
+            }
+            return response.body(body);
+
+        } catch (IOException e) {
+            logger.error("Error downloading export {}: {}", operationId, e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to download export: " + e.getMessage()));
+        }
+    }
+}
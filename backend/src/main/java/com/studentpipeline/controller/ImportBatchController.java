@@ -0,0 +1,81 @@
+package com.studentpipeline.controller;
+
+import com.studentpipeline.dto.ApiResponse;
+import com.studentpipeline.entity.ImportBatch;
+import com.studentpipeline.exception.BusinessException;
+import com.studentpipeline.service.AdaptiveBatchWriter;
+import com.studentpipeline.service.ImportBatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ImportBatchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportBatchController.class);
+
+    @Autowired
+    private ImportBatchService importBatchService;
+
+    @Autowired
+    private AdaptiveBatchWriter batchWriter;
+
+    /**
+     * List import batches, newest first
+     * GET /api/imports
+     */
+    @GetMapping("/imports")
+    public ResponseEntity<ApiResponse<List<ImportBatch>>> getImportBatches() {
+        logger.info("Fetching import batches");
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Import batches retrieved successfully",
+                    importBatchService.getBatches()));
+
+        } catch (Exception e) {
+            logger.error("Error fetching import batches: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to fetch import batches: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Batch sizes chosen by the upload writer and its row counts
+     * GET /api/imports/writer/stats
+     */
+    @GetMapping("/imports/writer/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getWriterStats() {
+        return ResponseEntity.ok(ApiResponse.success("Batch writer statistics retrieved successfully",
+                batchWriter.getStats()));
+    }
+
+    /**
+     * Roll back an upload by detaching and dropping its partition
+     * DELETE /api/imports/{batchId}
+     */
+    @DeleteMapping("/imports/{batchId}")
+    public ResponseEntity<ApiResponse<Long>> rollbackImportBatch(@PathVariable Long batchId) {
+        logger.info("Rolling back import batch: {}", batchId);
+
+        try {
+            long removed = importBatchService.rollbackBatch(batchId);
+            return ResponseEntity.ok(ApiResponse.success("Import batch rolled back successfully", removed));
+
+        } catch (BusinessException e) {
+            logger.warn("Cannot roll back import batch {}: {}", batchId, e.getMessage());
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error rolling back import batch {}: {}", batchId, e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to roll back import batch: " + e.getMessage()));
+        }
+    }
+}
@@ -1,19 +1,48 @@
 package com.studentpipeline.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.studentpipeline.dto.ApiResponse;
+import com.studentpipeline.dto.ScoreAnalyticsResponse;
 import com.studentpipeline.dto.StudentDto;
+import com.studentpipeline.dto.StudentLookupRequest;
+import com.studentpipeline.dto.StudentSearchResponse;
+import com.studentpipeline.entity.StudentClassSummary;
+import com.studentpipeline.exception.BusinessException;
+import com.studentpipeline.exception.OverloadedException;
+import com.studentpipeline.model.StudentFilter;
+import com.studentpipeline.service.AdmissionControlService;
+import com.studentpipeline.service.ClassSummaryService;
+import com.studentpipeline.service.ExportCacheService;
 import com.studentpipeline.service.ExportService;
+import com.studentpipeline.service.ScoreAnalyticsService;
+import com.studentpipeline.service.StudentCacheService;
+import com.studentpipeline.service.StudentReplicaService;
 import com.studentpipeline.service.StudentReportService;
+import com.studentpipeline.service.StudentSearchService;
+import com.studentpipeline.util.FileStreaming;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api")
@@ -21,6 +50,8 @@ import java.util.List;
 public class StudentReportController {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentReportController.class);
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    private static final int STREAM_FLUSH_ROWS = 1000;
 
     @Autowired
     private StudentReportService studentReportService;
@@ -28,6 +59,33 @@ public class StudentReportController {
     @Autowired
     private ExportService exportService;
 
+    @Autowired
+    private ExportCacheService exportCacheService;
+
+    @Autowired
+    private StudentCacheService studentCacheService;
+
+    @Autowired
+    private StudentReplicaService studentReplicaService;
+
+    @Autowired
+    private ScoreAnalyticsService scoreAnalyticsService;
+
+    @Autowired
+    private ClassSummaryService classSummaryService;
+
+    @Autowired
+    private StudentSearchService studentSearchService;
+
+    @Autowired
+    private AdmissionControlService admissionControlService;
+
+    @Value("${report-stream.max-duration-seconds:300}")
+    private long streamMaxDurationSeconds;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Get paginated students with optional filters
      * GET /api/students
@@ -37,10 +95,16 @@ public class StudentReportController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) Long studentId,
-            @RequestParam(required = false) String className) {
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) Long importBatchId,
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Integer maxScore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobTo) {
 
-        logger.info("Fetching students - page: {}, size: {}, studentId: {}, className: {}", 
-                   page, size, studentId, className);
+        logger.info("Fetching students - page: {}, size: {}, studentId: {}, className: {}, importBatchId: {}, " +
+                   "score: [{}, {}], dob: [{}, {}]",
+                   page, size, studentId, className, importBatchId, minScore, maxScore, dobFrom, dobTo);
 
         try {
             // Validate parameters
@@ -54,7 +118,20 @@ public class StudentReportController {
                         .body(ApiResponse.error("Page size must be between 1 and 1000"));
             }
 
-            Page<StudentDto> students = studentReportService.getStudents(page, size, studentId, className);
+            String rangeError = StudentFilter.validateRanges(minScore, maxScore, dobFrom, dobTo);
+            if (rangeError != null) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(rangeError));
+            }
+
+            StudentFilter filter = StudentFilter.builder()
+                    .studentId(studentId)
+                    .className(className)
+                    .importBatchId(importBatchId)
+                    .scoreRange(minScore, maxScore)
+                    .dobRange(dobFrom, dobTo)
+                    .build();
+            Page<StudentDto> students = studentReportService.getStudents(page, size, filter);
             
             logger.info("Found {} students (total: {})", students.getNumberOfElements(), students.getTotalElements());
             return ResponseEntity.ok(ApiResponse.success("Students retrieved successfully", students));
@@ -66,6 +143,38 @@ public class StudentReportController {
         }
     }
 
+    /**
+     * Search students by name, keyset-paged by student ID
+     * GET /api/students?q=smi&match=prefix&afterStudentId=1234&size=20
+     */
+    @GetMapping(value = "/students", params = "q")
+    public ResponseEntity<ApiResponse<StudentSearchResponse>> searchStudents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = StudentSearchService.MATCH_CONTAINS) String match,
+            @RequestParam(required = false) Long afterStudentId,
+            @RequestParam(defaultValue = "20") int size) {
+
+        logger.info("Searching students - q: {}, match: {}, afterStudentId: {}, size: {}", q, match, afterStudentId, size);
+
+        if (size <= 0 || size > 1000) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Page size must be between 1 and 1000"));
+        }
+
+        try {
+            StudentSearchResponse result = studentSearchService.search(q, match, afterStudentId, size);
+            return ResponseEntity.ok(ApiResponse.success("Students retrieved successfully", result));
+
+        } catch (BusinessException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error searching students: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to search students: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get student by student ID
      * GET /api/students/{studentId}
@@ -91,7 +200,130 @@ public class StudentReportController {
     }
 
     /**
-     * Export students to Excel, CSV, or PDF
+     * Look up many students in one request. The response is streamed as it is read, chunk by
+     * chunk, with one result per requested ID in request order and found=false for misses.
+     * POST /api/students/lookup  {"studentIds": [1, 2, 3]}
+     */
+    @PostMapping("/students/lookup")
+    public ResponseEntity<?> lookupStudents(@Valid @RequestBody StudentLookupRequest request) {
+        List<Long> studentIds = request.getStudentIds();
+        logger.info("Looking up {} students", studentIds.size());
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(outputStream)) {
+                json.writeStartObject();
+                json.writeBooleanField("success", true);
+                json.writeStringField("message", "Students looked up successfully");
+                json.writeObjectFieldStart("data");
+                json.writeNumberField("requested", studentIds.size());
+                json.writeArrayFieldStart("results");
+
+                long found = studentReportService.lookupStudents(studentIds, (studentId, student) -> {
+                    try {
+                        json.writeStartObject();
+                        json.writeNumberField("studentId", studentId);
+                        json.writeBooleanField("found", student != null);
+                        if (student != null) {
+                            json.writeObjectField("student", student);
+                        }
+                        json.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                json.writeEndArray();
+                json.writeNumberField("found", found);
+                json.writeEndObject();
+                json.writeEndObject();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Stream students matching the filters as newline-delimited JSON, ordered by student ID. The
+     * request thread is released as soon as the stream starts; rows are written as the database
+     * cursor returns them, and a slow client stalls the cursor instead of buffering rows in memory.
+     * Each stream holds a read-pool connection until it ends, so concurrent streams are limited by
+     * admission control (429 when exhausted) and a stream is cut off after its maximum duration.
+     * GET /api/students/stream?className=Class1&fromStudentId=1&toStudentId=100000
+     */
+    @GetMapping("/students/stream")
+    public ResponseEntity<?> streamStudents(
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Integer maxScore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobTo,
+            @RequestParam(required = false) Long fromStudentId,
+            @RequestParam(required = false) Long toStudentId) {
+
+        logger.info("Streaming students - studentId: {}, className: {}, score: [{}, {}], dob: [{}, {}], range: [{}, {}]",
+                   studentId, className, minScore, maxScore, dobFrom, dobTo, fromStudentId, toStudentId);
+
+        String rangeError = StudentFilter.validateRanges(minScore, maxScore, dobFrom, dobTo);
+        if (rangeError == null && fromStudentId != null && toStudentId != null && fromStudentId > toStudentId) {
+            rangeError = "fromStudentId cannot be greater than toStudentId";
+        }
+        if (rangeError != null) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponse.error(rangeError));
+        }
+
+        StudentFilter filter = StudentFilter.builder()
+                .studentId(studentId)
+                .className(className)
+                .scoreRange(minScore, maxScore)
+                .dobRange(dobFrom, dobTo)
+                .build();
+
+        // Rejected with 429 and Retry-After by GlobalExceptionHandler when all stream slots are taken
+        AdmissionControlService.Permit permit = admissionControlService.admit(
+                AdmissionControlService.Operation.REPORT_STREAM, admissionControlService.estimateReportStream());
+
+        // Runs on the MVC async executor: virtual threads when spring.threads.virtual.enabled is on
+        StreamingResponseBody body = outputStream -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(streamMaxDurationSeconds);
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(outputStream)) {
+                json.setRootValueSeparator(null);
+                long[] written = {0};
+                studentReportService.streamStudentsWithFilters(filter, fromStudentId, toStudentId, student -> {
+                    try {
+                        json.writeObject(student);
+                        json.writeRaw('\n');
+                        // Flush regularly so the first rows reach the client before the socket buffer fills
+                        if (++written[0] % STREAM_FLUSH_ROWS == 0) {
+                            json.flush();
+                            // A blocked write is bounded by Tomcat's connection timeout; a slow but steady reader by this
+                            if (System.nanoTime() > deadline) {
+                                throw new IOException("Stream exceeded " + streamMaxDurationSeconds + " s, closing it");
+                            }
+                        }
+                    } catch (IOException e) {
+                        // Client went away or stopped reading; aborts the cursor and its transaction
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return permit.releaseAfter(ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE_NDJSON))
+                .body(body));
+    }
+
+    /**
+     * Export students to Excel, CSV, PDF or Parquet
      * GET /api/students/export
      */
     @GetMapping("/students/export")
@@ -99,38 +331,56 @@ public class StudentReportController {
             @RequestParam String format,
             @RequestParam(required = false) Long studentId,
             @RequestParam(required = false) String className,
-            @RequestParam(required = false) String fileName) {
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Integer maxScore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobTo,
+            @RequestParam(required = false) String fileName,
+            @RequestParam(defaultValue = "false") boolean parallel,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        logger.info("Exporting students - format: {}, studentId: {}, className: {}, fileName: {}", 
-                   format, studentId, className, fileName);
+        logger.info("Exporting students - format: {}, studentId: {}, className: {}, score: [{}, {}], dob: [{}, {}], " +
+                   "fileName: {}, parallel: {}",
+                   format, studentId, className, minScore, maxScore, dobFrom, dobTo, fileName, parallel);
 
         try {
             // Validate format
             if (!isValidExportFormat(format)) {
                 return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("Invalid export format. Supported formats: excel, csv, pdf"));
+                        .body(ApiResponse.error("Invalid export format. Supported formats: excel, csv, pdf, parquet"));
             }
 
-            // Get students with filters
-            List<StudentDto> students = studentReportService.getAllStudentsWithFilters(studentId, className);
-            
-            if (students.isEmpty()) {
-                return ResponseEntity.ok(ApiResponse.success("No students found matching the criteria", null));
+            String rangeError = StudentFilter.validateRanges(minScore, maxScore, dobFrom, dobTo);
+            if (rangeError != null) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(rangeError));
             }
 
-            // Export based on format
-            switch (format.toLowerCase()) {
-                case "excel":
-                    return exportService.exportToExcel(students, fileName);
-                case "csv":
-                    return exportService.exportToCsv(students, fileName);
-                case "pdf":
-                    return exportService.exportToPdf(students, fileName);
-                default:
-                    return ResponseEntity.badRequest()
-                            .body(ApiResponse.error("Unsupported export format: " + format));
+            StudentFilter filter = StudentFilter.builder()
+                    .studentId(studentId)
+                    .className(className)
+                    .scoreRange(minScore, maxScore)
+                    .dobRange(dobFrom, dobTo)
+                    .build();
+
+            // Only Excel and CSV outside the export cache load every row before writing; they reserve
+            // for the most rows the filter can match, since counting them exactly is a scan of its own
+            boolean materialized = !exportCacheService.isEnabled()
+                    && (format.equalsIgnoreCase("excel") || format.equalsIgnoreCase("csv"));
+            long estimatedBytes = materialized
+                    ? admissionControlService.estimateMaterializedExport(studentReportService.getMaxStudentsWithFilters(filter))
+                    : admissionControlService.estimateStreamedExport();
+            AdmissionControlService.Permit permit = admissionControlService.admit(
+                    AdmissionControlService.Operation.EXPORT, estimatedBytes);
+            try {
+                return permit.releaseAfter(renderExport(format, filter, fileName, parallel, ifNoneMatch));
+            } catch (IOException | RuntimeException e) {
+                permit.close();
+                throw e;
             }
-            
+
+        } catch (OverloadedException e) {
+            throw e; // Answered with 429 and Retry-After by GlobalExceptionHandler
         } catch (IOException e) {
             logger.error("Error exporting students to {}: {}", format, e.getMessage(), e);
             return ResponseEntity.status(500)
@@ -151,24 +401,29 @@ public class StudentReportController {
         logger.info("Fetching student statistics");
 
         try {
-            long totalStudents = studentReportService.getTotalStudentsCount();
-            
-            // Get count by class
-            long class1Count = studentReportService.getStudentCountByClass("Class1");
-            long class2Count = studentReportService.getStudentCountByClass("Class2");
-            long class3Count = studentReportService.getStudentCountByClass("Class3");
-            long class4Count = studentReportService.getStudentCountByClass("Class4");
-            long class5Count = studentReportService.getStudentCountByClass("Class5");
+            // One row per class from the incrementally maintained summary table
+            List<StudentClassSummary> summaries = studentReportService.getClassSummaries();
+
+            long totalStudents = 0;
+            Map<String, Long> classCounts = new LinkedHashMap<>();
+            Map<String, Object> classScores = new LinkedHashMap<>();
+            for (StudentClassSummary summary : summaries) {
+                totalStudents += summary.getStudentCount();
+                classCounts.put(summary.getClassName(), summary.getStudentCount());
 
+                Map<String, Object> scores = new LinkedHashMap<>();
+                scores.put("average", summary.getStudentCount() > 0
+                        ? (double) summary.getScoreSum() / summary.getStudentCount() : 0);
+                scores.put("min", summary.getMinScore());
+                scores.put("max", summary.getMaxScore());
+                classScores.put(summary.getClassName(), scores);
+            }
+
+            long studentTotal = totalStudents;
             Object stats = new Object() {
-                public final long total = totalStudents;
-                public final Object byClass = new Object() {
-                    public final long Class1 = class1Count;
-                    public final long Class2 = class2Count;
-                    public final long Class3 = class3Count;
-                    public final long Class4 = class4Count;
-                    public final long Class5 = class5Count;
-                };
+                public final long total = studentTotal;
+                public final Object byClass = classCounts;
+                public final Object scoresByClass = classScores;
             };
             
             return ResponseEntity.ok(ApiResponse.success("Statistics retrieved successfully", stats));
@@ -180,6 +435,78 @@ public class StudentReportController {
         }
     }
 
+    /**
+     * Get per-class score statistics, histograms and percentiles plus the age distribution
+     * GET /api/students/analytics?strategy=sql|forkjoin&bucketWidth=10
+     */
+    @GetMapping("/students/analytics")
+    public ResponseEntity<ApiResponse<ScoreAnalyticsResponse>> getAnalytics(
+            @RequestParam(defaultValue = "sql") String strategy,
+            @RequestParam(defaultValue = "10") int bucketWidth) {
+
+        logger.info("Fetching student analytics - strategy: {}, bucketWidth: {}", strategy, bucketWidth);
+
+        if (!scoreAnalyticsService.isSupportedStrategy(strategy)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Invalid strategy. Supported strategies: sql, forkjoin"));
+        }
+        if (!scoreAnalyticsService.isValidBucketWidth(bucketWidth)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Bucket width must be between 1 and " + ScoreAnalyticsService.MAX_BUCKET_WIDTH));
+        }
+
+        try {
+            ScoreAnalyticsResponse analytics = scoreAnalyticsService.getAnalytics(strategy, bucketWidth);
+            return ResponseEntity.ok(ApiResponse.success("Analytics retrieved successfully", analytics));
+
+        } catch (Exception e) {
+            logger.error("Error computing student analytics: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to compute analytics: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get hit/miss/eviction statistics of the student lookup and page caches
+     * GET /api/students/cache/stats
+     */
+    @GetMapping("/students/cache/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCacheStats() {
+        logger.debug("Fetching student cache statistics");
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully",
+                studentCacheService.getStats()));
+    }
+
+    /**
+     * Get size and freshness of the in-memory read replica
+     * GET /api/students/replica/stats
+     */
+    @GetMapping("/students/replica/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getReplicaStats() {
+        logger.debug("Fetching read replica statistics");
+        return ResponseEntity.ok(ApiResponse.success("Replica statistics retrieved successfully",
+                studentReplicaService.getStats()));
+    }
+
+    /**
+     * Recompute the class summary table from the student table (repair)
+     * POST /api/students/summary/rebuild
+     */
+    @PostMapping("/students/summary/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildClassSummary() {
+        logger.info("Rebuilding student class summary");
+
+        try {
+            int classes = classSummaryService.rebuild();
+            return ResponseEntity.ok(ApiResponse.success("Class summary rebuilt successfully", classes));
+
+        } catch (Exception e) {
+            logger.error("Error rebuilding class summary: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to rebuild class summary: " + e.getMessage()));
+        }
+    }
+
     /**
      * Delete student by ID
      * DELETE /api/students/{id}
@@ -205,11 +532,120 @@ public class StudentReportController {
         }
     }
 
+    /**
+     * Delete all students of a class and/or student ID range
+     * DELETE /api/students?className=Class1&fromStudentId=1000&toStudentId=2000
+     */
+    @DeleteMapping("/students")
+    public ResponseEntity<ApiResponse<Long>> deleteStudents(
+            @RequestParam(required = false) String className,
+            @RequestParam(required = false) Long fromStudentId,
+            @RequestParam(required = false) Long toStudentId) {
+
+        logger.info("Deleting students - className: {}, fromStudentId: {}, toStudentId: {}",
+                   className, fromStudentId, toStudentId);
+
+        if (fromStudentId != null && toStudentId != null && fromStudentId > toStudentId) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("fromStudentId cannot be greater than toStudentId"));
+        }
+
+        try {
+            long deleted = studentReportService.deleteStudents(className, fromStudentId, toStudentId);
+            return ResponseEntity.ok(ApiResponse.success("Deleted " + deleted + " students", deleted));
+
+        } catch (BusinessException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error deleting students: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(ApiResponse.error("Failed to delete students: " + e.getMessage()));
+        }
+    }
+
     // Helper methods
 
+    /**
+     * Render an export that has been admitted, from the export cache when enabled
+     */
+    private ResponseEntity<?> renderExport(String format, StudentFilter filter, String fileName,
+                                           boolean parallel, String ifNoneMatch) throws IOException {
+        if (exportCacheService.isEnabled()) {
+            return exportFromCache(format, filter, fileName, parallel, ifNoneMatch);
+        }
+
+        // Parquet and PDF are streamed from a DB cursor, so they never materialize the student list
+        if (format.equalsIgnoreCase("parquet")) {
+            return exportService.exportToParquet(filter, fileName);
+        }
+        if (format.equalsIgnoreCase("pdf")) {
+            // Checked up front: once the stream starts the response is committed as a PDF
+            if (!studentReportService.existsStudentsWithFilters(filter)) {
+                return ResponseEntity.ok(ApiResponse.success("No students found matching the criteria", null));
+            }
+            return parallel
+                    ? exportService.exportToPdfParallel(filter, fileName)
+                    : exportService.exportToPdf(filter, fileName);
+        }
+
+        // Get students with filters
+        List<StudentDto> students = studentReportService.getAllStudentsWithFilters(filter);
+        
+        if (students.isEmpty()) {
+            return ResponseEntity.ok(ApiResponse.success("No students found matching the criteria", null));
+        }
+
+        // Export based on format
+        switch (format.toLowerCase()) {
+            case "excel":
+                return exportService.exportToExcel(students, fileName);
+            case "csv":
+                return exportService.exportToCsv(students, fileName);
+            default:
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Unsupported export format: " + format));
+        }
+    }
+
+    /**
+     * Serve an export from the on-disk export cache, rendering it on a miss.
+     * The ETag identifies the filters and data version, so a client holding a
+     * current copy gets 304 Not Modified without any rendering or file I/O.
+     */
+    private ResponseEntity<?> exportFromCache(String format, StudentFilter filter, String fileName,
+                                              boolean parallel, String ifNoneMatch) throws IOException {
+        String etag = exportCacheService.getETag(format, filter, parallel);
+        if (exportCacheService.matchesETag(ifNoneMatch, etag)) {
+            logger.info("Export not modified, ETag: {}", etag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ExportCacheService.CachedExport export = exportCacheService.getOrRender(format, filter, parallel);
+
+        // Excel, CSV and PDF have always answered an empty result with a message instead of a file
+        if (export.getRows() == 0 && !format.equalsIgnoreCase("parquet")) {
+            return ResponseEntity.ok(ApiResponse.success("No students found matching the criteria", null));
+        }
+
+        String extension = exportService.getFileExtension(format);
+        String finalFileName = fileName != null ? fileName : "students_report." + extension;
+        if (!finalFileName.endsWith("." + extension)) {
+            finalFileName += "." + extension;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(export.getEtag())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + finalFileName + "\"")
+                .contentType(exportService.getMediaType(format))
+                .contentLength(export.getSize())
+                .body(FileStreaming.transfer(export.getFile(), 0, export.getSize()));
+    }
+
     private boolean isValidExportFormat(String format) {
         if (format == null) return false;
         String lowerFormat = format.toLowerCase();
-        return lowerFormat.equals("excel") || lowerFormat.equals("csv") || lowerFormat.equals("pdf");
+        return lowerFormat.equals("excel") || lowerFormat.equals("csv") || lowerFormat.equals("pdf")
+                || lowerFormat.equals("parquet");
     }
 }
\ No newline at end of file
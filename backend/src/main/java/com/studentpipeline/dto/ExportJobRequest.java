@@ -0,0 +1,132 @@
+package com.studentpipeline.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for background export jobs
+ */
+public class ExportJobRequest {
+
+    @NotBlank(message = "Export format cannot be blank")
+    private String format;
+
+    private Long studentId;
+
+    private String className;
+
+    private Integer minScore;
+
+    private Integer maxScore;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dobFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dobTo;
+
+    private String fileName;
+
+    private boolean parallel;
+
+    // Constructors
+    public ExportJobRequest() {}
+
+    public ExportJobRequest(String format, Long studentId, String className, String fileName, boolean parallel) {
+        this.format = format;
+        this.studentId = studentId;
+        this.className = className;
+        this.fileName = fileName;
+        this.parallel = parallel;
+    }
+
+    // Getters and Setters
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public Integer getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(Integer minScore) {
+        this.minScore = minScore;
+    }
+
+    public Integer getMaxScore() {
+        return maxScore;
+    }
+
+    public void setMaxScore(Integer maxScore) {
+        this.maxScore = maxScore;
+    }
+
+    public LocalDate getDobFrom() {
+        return dobFrom;
+    }
+
+    public void setDobFrom(LocalDate dobFrom) {
+        this.dobFrom = dobFrom;
+    }
+
+    public LocalDate getDobTo() {
+        return dobTo;
+    }
+
+    public void setDobTo(LocalDate dobTo) {
+        this.dobTo = dobTo;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportJobRequest{" +
+                "format='" + format + '\'' +
+                ", studentId=" + studentId +
+                ", className='" + className + '\'' +
+                ", minScore=" + minScore +
+                ", maxScore=" + maxScore +
+                ", dobFrom=" + dobFrom +
+                ", dobTo=" + dobTo +
+                ", fileName='" + fileName + '\'' +
+                ", parallel=" + parallel +
+                '}';
+    }
+}
@@ -9,6 +9,9 @@ public class FileOperationResponse {
     private String fileName;
     private Long recordsProcessed;
     private String operation;
+    private Long importBatchId;
+    private Long recordsUpdated;
+    private boolean duplicate;
 
     // Constructors
     public FileOperationResponse() {}
@@ -53,6 +56,39 @@ public class FileOperationResponse {
         this.operation = operation;
     }
 
+    /**
+     * Import batch the loaded rows belong to; can be rolled back via DELETE /api/imports/{id}
+     */
+    public Long getImportBatchId() {
+        return importBatchId;
+    }
+
+    public void setImportBatchId(Long importBatchId) {
+        this.importBatchId = importBatchId;
+    }
+
+    /**
+     * Existing students overwritten by an upsert-mode upload (null for insert mode)
+     */
+    public Long getRecordsUpdated() {
+        return recordsUpdated;
+    }
+
+    public void setRecordsUpdated(Long recordsUpdated) {
+        this.recordsUpdated = recordsUpdated;
+    }
+
+    /**
+     * True when identical file content was processed before and its recorded result is returned
+     */
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+
+    public void setDuplicate(boolean duplicate) {
+        this.duplicate = duplicate;
+    }
+
     @Override
     public String toString() {
         return "FileOperationResponse{" +
@@ -60,6 +96,9 @@ public class FileOperationResponse {
                 ", fileName='" + fileName + '\'' +
                 ", recordsProcessed=" + recordsProcessed +
                 ", operation='" + operation + '\'' +
+                ", importBatchId=" + importBatchId +
+                ", recordsUpdated=" + recordsUpdated +
+                ", duplicate=" + duplicate +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.studentpipeline.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for score and age analytics over the student table
+ */
+public class ScoreAnalyticsResponse {
+    private String strategy;
+    private long dataVersion;
+    private long totalStudents;
+    private int bucketWidth;
+    private long computeTimeMs;
+    private List<ClassScoreStats> classes;
+    private Map<Integer, Long> ageDistribution;
+
+    public ScoreAnalyticsResponse() {}
+
+    public ScoreAnalyticsResponse(String strategy, long dataVersion, long totalStudents, int bucketWidth,
+                                  long computeTimeMs, List<ClassScoreStats> classes,
+                                  Map<Integer, Long> ageDistribution) {
+        this.strategy = strategy;
+        this.dataVersion = dataVersion;
+        this.totalStudents = totalStudents;
+        this.bucketWidth = bucketWidth;
+        this.computeTimeMs = computeTimeMs;
+        this.classes = classes;
+        this.ageDistribution = ageDistribution;
+    }
+
+    // Getters and Setters
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    public long getTotalStudents() {
+        return totalStudents;
+    }
+
+    public void setTotalStudents(long totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+
+    public void setBucketWidth(int bucketWidth) {
+        this.bucketWidth = bucketWidth;
+    }
+
+    public long getComputeTimeMs() {
+        return computeTimeMs;
+    }
+
+    public void setComputeTimeMs(long computeTimeMs) {
+        this.computeTimeMs = computeTimeMs;
+    }
+
+    public List<ClassScoreStats> getClasses() {
+        return classes;
+    }
+
+    public void setClasses(List<ClassScoreStats> classes) {
+        this.classes = classes;
+    }
+
+    /**
+     * Number of students per age in completed years
+     */
+    public Map<Integer, Long> getAgeDistribution() {
+        return ageDistribution;
+    }
+
+    public void setAgeDistribution(Map<Integer, Long> ageDistribution) {
+        this.ageDistribution = ageDistribution;
+    }
+
+    /**
+     * Score statistics of one class. Standard deviation is the population one, percentiles
+     * are continuous (linear interpolation, as PostgreSQL percentile_cont), and the histogram
+     * maps each bucket's lower bound to its student count.
+     */
+    public static class ClassScoreStats {
+        private String className;
+        private long count;
+        private double mean;
+        private double stddev;
+        private int min;
+        private int max;
+        private double p50;
+        private double p90;
+        private double p99;
+        private Map<Integer, Long> histogram;
+
+        public ClassScoreStats() {}
+
+        public ClassScoreStats(String className, long count, double mean, double stddev, int min, int max,
+                               double p50, double p90, double p99, Map<Integer, Long> histogram) {
+            this.className = className;
+            this.count = count;
+            this.mean = mean;
+            this.stddev = stddev;
+            this.min = min;
+            this.max = max;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.histogram = histogram;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public void setClassName(String className) {
+            this.className = className;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public void setMean(double mean) {
+            this.mean = mean;
+        }
+
+        public double getStddev() {
+            return stddev;
+        }
+
+        public void setStddev(double stddev) {
+            this.stddev = stddev;
+        }
+
+        public int getMin() {
+            return min;
+        }
+
+        public void setMin(int min) {
+            this.min = min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public void setMax(int max) {
+            this.max = max;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public void setP50(double p50) {
+            this.p50 = p50;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+
+        public void setP90(double p90) {
+            this.p90 = p90;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public void setP99(double p99) {
+            this.p99 = p99;
+        }
+
+        public Map<Integer, Long> getHistogram() {
+            return histogram;
+        }
+
+        public void setHistogram(Map<Integer, Long> histogram) {
+            this.histogram = histogram;
+        }
+    }
+}
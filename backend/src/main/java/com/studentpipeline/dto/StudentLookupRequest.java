@@ -0,0 +1,42 @@
+package com.studentpipeline.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for batch student lookups
+ */
+public class StudentLookupRequest {
+
+    public static final int MAX_STUDENT_IDS = 10000;
+
+    @NotEmpty(message = "Student IDs cannot be empty")
+    @Size(max = MAX_STUDENT_IDS, message = "At most " + MAX_STUDENT_IDS + " student IDs can be looked up at once")
+    private List<@NotNull(message = "Student IDs cannot contain null") Long> studentIds;
+
+    // Constructors
+    public StudentLookupRequest() {}
+
+    public StudentLookupRequest(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentLookupRequest{" +
+                "studentIds=" + (studentIds != null ? studentIds.size() : 0) +
+                '}';
+    }
+}
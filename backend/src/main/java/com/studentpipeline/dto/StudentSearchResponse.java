@@ -0,0 +1,68 @@
+package com.studentpipeline.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a name search. Pass nextAfterStudentId as afterStudentId to get the next page;
+ * it is null on the last page.
+ */
+public class StudentSearchResponse {
+
+    private String query;
+    private List<StudentDto> students;
+    private Long nextAfterStudentId;
+    private long searchTimeMs;
+
+    // Constructors
+    public StudentSearchResponse() {}
+
+    public StudentSearchResponse(String query, List<StudentDto> students, Long nextAfterStudentId, long searchTimeMs) {
+        this.query = query;
+        this.students = students;
+        this.nextAfterStudentId = nextAfterStudentId;
+        this.searchTimeMs = searchTimeMs;
+    }
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<StudentDto> getStudents() {
+        return students;
+    }
+
+    public void setStudents(List<StudentDto> students) {
+        this.students = students;
+    }
+
+    public Long getNextAfterStudentId() {
+        return nextAfterStudentId;
+    }
+
+    public void setNextAfterStudentId(Long nextAfterStudentId) {
+        this.nextAfterStudentId = nextAfterStudentId;
+    }
+
+    public long getSearchTimeMs() {
+        return searchTimeMs;
+    }
+
+    public void setSearchTimeMs(long searchTimeMs) {
+        this.searchTimeMs = searchTimeMs;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentSearchResponse{" +
+                "query='" + query + '\'' +
+                ", students=" + (students != null ? students.size() : 0) +
+                ", nextAfterStudentId=" + nextAfterStudentId +
+                ", searchTimeMs=" + searchTimeMs +
+                '}';
+    }
+}
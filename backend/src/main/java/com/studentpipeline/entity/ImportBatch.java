@@ -0,0 +1,106 @@
+package com.studentpipeline.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry for one upload. Its rows live in the student partition student_batch_{id}.
+ */
+@Entity
+@Table(name = "import_batch")
+public class ImportBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_batch_seq")
+    @SequenceGenerator(name = "import_batch_seq", sequenceName = "import_batch_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "operation", nullable = false, length = 50)
+    private String operation;
+
+    @Column(name = "record_count")
+    private Long recordCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Null while the batch is still loading
+    @Column(name = "attached_at")
+    private LocalDateTime attachedAt;
+
+    // Constructors
+    public ImportBatch() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public ImportBatch(String fileName, String operation) {
+        this();
+        this.fileName = fileName;
+        this.operation = operation;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getRecordCount() {
+        return recordCount;
+    }
+
+    public void setRecordCount(Long recordCount) {
+        this.recordCount = recordCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getAttachedAt() {
+        return attachedAt;
+    }
+
+    public void setAttachedAt(LocalDateTime attachedAt) {
+        this.attachedAt = attachedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportBatch{" +
+                "id=" + id +
+                ", fileName='" + fileName + '\'' +
+                ", operation='" + operation + '\'' +
+                ", recordCount=" + recordCount +
+                ", createdAt=" + createdAt +
+                ", attachedAt=" + attachedAt +
+                '}';
+    }
+}
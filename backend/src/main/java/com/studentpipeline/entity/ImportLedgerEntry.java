@@ -0,0 +1,183 @@
+package com.studentpipeline.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of processing one submitted file, keyed by the file's fingerprint, so a resubmission
+ * of identical content can be answered without processing it again
+ */
+@Entity
+@Table(name = "import_ledger", indexes = {
+    @Index(name = "idx_import_ledger_fingerprint", columnList = "fingerprint, file_size, operation")
+})
+public class ImportLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_ledger_seq")
+    @SequenceGenerator(name = "import_ledger_seq", sequenceName = "import_ledger_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "operation", nullable = false, length = 50)
+    private String operation;
+
+    // SHA-256 of the file content, hex encoded
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    // Uploads: the import batch the rows were loaded into
+    @Column(name = "import_batch_id")
+    private Long importBatchId;
+
+    // Path and file name of the recorded response ("Database" for uploads)
+    @Column(name = "result_path", length = 1024)
+    private String resultPath;
+
+    @Column(name = "result_name")
+    private String resultName;
+
+    // Conversions: size and modification time of the file written, to detect later changes
+    @Column(name = "result_size")
+    private Long resultSize;
+
+    @Column(name = "result_modified_at")
+    private Long resultModifiedAt;
+
+    @Column(name = "records_processed")
+    private Long recordsProcessed;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ImportLedgerEntry() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public ImportLedgerEntry(String operation, String fingerprint, Long fileSize, String fileName) {
+        this();
+        this.operation = operation;
+        this.fingerprint = fingerprint;
+        this.fileSize = fileSize;
+        this.fileName = fileName;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getImportBatchId() {
+        return importBatchId;
+    }
+
+    public void setImportBatchId(Long importBatchId) {
+        this.importBatchId = importBatchId;
+    }
+
+    public String getResultPath() {
+        return resultPath;
+    }
+
+    public void setResultPath(String resultPath) {
+        this.resultPath = resultPath;
+    }
+
+    public String getResultName() {
+        return resultName;
+    }
+
+    public void setResultName(String resultName) {
+        this.resultName = resultName;
+    }
+
+    public Long getResultSize() {
+        return resultSize;
+    }
+
+    public void setResultSize(Long resultSize) {
+        this.resultSize = resultSize;
+    }
+
+    public Long getResultModifiedAt() {
+        return resultModifiedAt;
+    }
+
+    public void setResultModifiedAt(Long resultModifiedAt) {
+        this.resultModifiedAt = resultModifiedAt;
+    }
+
+    public Long getRecordsProcessed() {
+        return recordsProcessed;
+    }
+
+    public void setRecordsProcessed(Long recordsProcessed) {
+        this.recordsProcessed = recordsProcessed;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportLedgerEntry{" +
+                "id=" + id +
+                ", operation='" + operation + '\'' +
+                ", fingerprint='" + fingerprint + '\'' +
+                ", fileSize=" + fileSize +
+                ", fileName='" + fileName + '\'' +
+                ", importBatchId=" + importBatchId +
+                ", resultPath='" + resultPath + '\'' +
+                ", recordsProcessed=" + recordsProcessed +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -10,9 +10,17 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "student", indexes = {
-    @Index(name = "idx_student_student_id", columnList = "student_id"),
-    @Index(name = "idx_student_class_name", columnList = "class_name"),
-    @Index(name = "idx_student_score", columnList = "score")
+    // The (student_id, import_batch_id) unique constraint of init.sql; it also serves student ID lookups,
+    // so there is no separate student_id index
+    @Index(name = "student_student_id_import_batch_id_key", columnList = "student_id, import_batch_id", unique = true),
+    // Serves class filters sorted by student ID as one index range scan; also covers class_name alone
+    @Index(name = "idx_student_class_name_student_id", columnList = "class_name, student_id"),
+    @Index(name = "idx_student_score", columnList = "score"),
+    // B-tree rather than BRIN: dob is random with respect to load order, so block ranges would not prune
+    @Index(name = "idx_student_dob", columnList = "dob")
+    // Name search also needs idx_student_name_trgm, a pg_trgm GIN index on (first_name || ' ' || last_name).
+    // JPA cannot declare expression indexes, so it comes from init.sql, or scripts/migrate-student-name-search.sql
+    // on existing databases.
 })
 public class Student {
 
@@ -20,7 +28,8 @@ public class Student {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "student_id", nullable = false, unique = true)
+    // Unique per import batch partition only; global uniqueness is enforced when a batch is attached
+    @Column(name = "student_id", nullable = false)
     @NotNull(message = "Student ID cannot be null")
     private Long studentId;
 
@@ -50,6 +59,14 @@ public class Student {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Partition key: the upload that loaded this row (0 for rows that predate import batches)
+    @Column(name = "import_batch_id", nullable = false)
+    private Long importBatchId = 0L;
+
+    // StudentRowHash of the data columns; upserts skip rows whose hash is unchanged
+    @Column(name = "row_hash")
+    private Long rowHash;
+
     // Constructors
     public Student() {
         this.createdAt = LocalDateTime.now();
@@ -131,6 +148,22 @@ public class Student {
         this.createdAt = createdAt;
     }
 
+    public Long getImportBatchId() {
+        return importBatchId;
+    }
+
+    public void setImportBatchId(Long importBatchId) {
+        this.importBatchId = importBatchId;
+    }
+
+    public Long getRowHash() {
+        return rowHash;
+    }
+
+    public void setRowHash(Long rowHash) {
+        this.rowHash = rowHash;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -147,6 +180,7 @@ public class Student {
                 ", className='" + className + '\'' +
                 ", score=" + score +
                 ", createdAt=" + createdAt +
+                ", importBatchId=" + importBatchId +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.studentpipeline.event;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Published whenever rows of the student table are inserted or deleted.
+ * Listeners use it to keep derived state (data version, caches) current; they should
+ * use @TransactionalEventListener so they only react once the change is committed.
+ */
+public class StudentDataChangedEvent {
+
+    public enum ChangeType {
+        INSERT,
+        DELETE
+    }
+
+    private final ChangeType changeType;
+    private final Set<Long> studentIds;
+    private final Set<String> classNames;
+
+    /**
+     * @param studentIds affected student IDs, or null if too many to track (treat as all)
+     * @param classNames affected class names, or null if unknown (treat as all)
+     */
+    public StudentDataChangedEvent(ChangeType changeType, Set<Long> studentIds, Set<String> classNames) {
+        this.changeType = changeType;
+        this.studentIds = studentIds != null ? Collections.unmodifiableSet(studentIds) : null;
+        this.classNames = classNames != null ? Collections.unmodifiableSet(classNames) : null;
+    }
+
+    /**
+     * Event for a change whose affected rows are not tracked
+     */
+    public static StudentDataChangedEvent allStudents(ChangeType changeType) {
+        return new StudentDataChangedEvent(changeType, null, null);
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Set<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    public boolean affectsStudent(Long studentId) {
+        return studentIds == null || studentIds.contains(studentId);
+    }
+
+    public boolean affectsClass(String className) {
+        return classNames == null || classNames.contains(className);
+    }
+
+    @Override
+    public String toString() {
+        return "StudentDataChangedEvent{" +
+                "changeType=" + changeType +
+                ", studentIds=" + (studentIds != null ? studentIds.size() + " ids" : "all") +
+                ", classNames=" + (classNames != null ? classNames : "all") +
+                '}';
+    }
+}
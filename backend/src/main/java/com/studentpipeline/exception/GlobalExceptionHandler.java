@@ -4,6 +4,7 @@ import com.studentpipeline.dto.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -136,6 +137,18 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("Operation not supported: " + ex.getMessage()));
     }
 
+    /**
+     * Handle rejected heavy operations
+     */
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOverloadedException(OverloadedException ex) {
+        logger.warn("Operation rejected: {}", ex.getMessage());
+
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     /**
      * Handle custom business exceptions
      */
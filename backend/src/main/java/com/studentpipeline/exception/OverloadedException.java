@@ -0,0 +1,21 @@
+package com.studentpipeline.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a heavy operation is not admitted because its concurrency limit or the memory
+ * budget is exhausted. Answered with 429 and a Retry-After header.
+ */
+public class OverloadedException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,354 @@
+package com.studentpipeline.model;
+
+import com.studentpipeline.dto.StudentDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Immutable column-oriented copy of the student table: one primitive array per column,
+ * strings dictionary-encoded to int codes, rows sorted by student ID. Student ID point and
+ * range lookups are binary searches; class filters compare int codes. Changes produce a
+ * new table via {@link #withChanges}, so readers always see a consistent snapshot.
+ */
+public final class ColumnarStudentTable {
+
+    private static final long NO_CREATED_AT = Long.MIN_VALUE;
+
+    private final StringDictionary dictionary;
+    private final int size;
+    private final long[] ids;
+    private final long[] studentIds;
+    private final int[] firstNames;
+    private final int[] lastNames;
+    private final int[] classNames;
+    private final int[] dobs;
+    private final int[] scores;
+    private final long[] createdAts;
+
+    private ColumnarStudentTable(Builder builder) {
+        this.dictionary = builder.dictionary;
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.studentIds = Arrays.copyOf(builder.studentIds, size);
+        this.firstNames = Arrays.copyOf(builder.firstNames, size);
+        this.lastNames = Arrays.copyOf(builder.lastNames, size);
+        this.classNames = Arrays.copyOf(builder.classNames, size);
+        this.dobs = Arrays.copyOf(builder.dobs, size);
+        this.scores = Arrays.copyOf(builder.scores, size);
+        this.createdAts = Arrays.copyOf(builder.createdAts, size);
+    }
+
+    /**
+     * Start an empty table with its own string dictionary
+     */
+    public static Builder builder(int expectedRows) {
+        return new Builder(new StringDictionary(), expectedRows);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap footprint of the column arrays (the dictionary strings are not counted)
+     */
+    public long estimatedBytes() {
+        // 3 long columns and 5 int columns
+        return (long) size * (3 * Long.BYTES + 5 * Integer.BYTES);
+    }
+
+    public StudentDto findByStudentId(long studentId) {
+        int index = Arrays.binarySearch(studentIds, 0, size, studentId);
+        return index >= 0 ? toDto(index) : null;
+    }
+
+    /**
+     * Count rows matching the filters; any filter may be null
+     */
+    public long count(Long studentId, String className, Long fromStudentId, Long toStudentId) {
+        long[] count = {0};
+        scan(studentId, className, fromStudentId, toStudentId, 0, Long.MAX_VALUE, index -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Get one page of rows matching the filters, in student ID order
+     */
+    public List<StudentDto> page(Long studentId, String className, long offset, int limit) {
+        List<StudentDto> rows = new ArrayList<>(Math.min(limit, size));
+        scan(studentId, className, null, null, offset, limit, index -> rows.add(toDto(index)));
+        return rows;
+    }
+
+    /**
+     * Pass every row matching the filters to the consumer, in student ID order
+     *
+     * @return number of rows passed
+     */
+    public long forEach(Long studentId, String className, Long fromStudentId, Long toStudentId,
+                        Consumer<StudentDto> consumer) {
+        long[] count = {0};
+        scan(studentId, className, fromStudentId, toStudentId, 0, Long.MAX_VALUE, index -> {
+            consumer.accept(toDto(index));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Get the lowest and highest student ID matching the filters
+     *
+     * @return {min, max}, or null when no row matches
+     */
+    public long[] studentIdRange(Long studentId, String className) {
+        long[] range = {0, 0};
+        boolean[] found = {false};
+        scan(studentId, className, null, null, 0, Long.MAX_VALUE, index -> {
+            if (!found[0]) {
+                range[0] = studentIds[index];
+                found[0] = true;
+            }
+            range[1] = studentIds[index];
+        });
+        return found[0] ? range : null;
+    }
+
+    /**
+     * Build a new table with the given student IDs removed and the given rows inserted
+     * (replacing any row with the same student ID). This table is left unchanged.
+     */
+    public ColumnarStudentTable withChanges(Set<Long> removedStudentIds, Collection<StudentDto> upserts) {
+        List<StudentDto> sortedUpserts = new ArrayList<>(upserts);
+        sortedUpserts.sort(Comparator.comparing(StudentDto::getStudentId));
+
+        Builder builder = new Builder(dictionary, size + sortedUpserts.size());
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            long current = studentIds[i];
+            while (next < sortedUpserts.size() && sortedUpserts.get(next).getStudentId() <= current) {
+                builder.add(sortedUpserts.get(next++));
+            }
+            if (builder.size > 0 && builder.studentIds[builder.size - 1] == current) {
+                continue; // Replaced by an upsert
+            }
+            if (!removedStudentIds.contains(current)) {
+                builder.copyRow(this, i);
+            }
+        }
+        while (next < sortedUpserts.size()) {
+            builder.add(sortedUpserts.get(next++));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Visit the indexes of rows matching the filters, skipping the first offset matches
+     * and stopping after limit matches
+     */
+    private void scan(Long studentId, String className, Long fromStudentId, Long toStudentId,
+                      long offset, long limit, IndexVisitor visitor) {
+        long lower = Long.MIN_VALUE;
+        long upper = Long.MAX_VALUE;
+        if (studentId != null) {
+            lower = studentId;
+            upper = studentId;
+        }
+        if (fromStudentId != null) {
+            lower = Math.max(lower, fromStudentId);
+        }
+        if (toStudentId != null) {
+            upper = Math.min(upper, toStudentId);
+        }
+        if (lower > upper || limit <= 0) {
+            return;
+        }
+
+        int classCode = -1;
+        if (className != null) {
+            classCode = dictionary.lookup(className);
+            if (classCode < 0) {
+                return;
+            }
+        }
+
+        int start = lowerBound(lower);
+        int end = upper == Long.MAX_VALUE ? size : lowerBound(upper + 1);
+
+        if (classCode < 0) {
+            // Unfiltered by class, so the page can be addressed directly
+            long first = start + offset;
+            long last = end - first <= limit ? end : first + limit;
+            for (long index = first; index < last; index++) {
+                visitor.visit((int) index);
+            }
+            return;
+        }
+
+        long skipped = 0;
+        long visited = 0;
+        for (int index = start; index < end && visited < limit; index++) {
+            if (classNames[index] != classCode) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            visitor.visit(index);
+            visited++;
+        }
+    }
+
+    private int lowerBound(long studentId) {
+        int index = Arrays.binarySearch(studentIds, 0, size, studentId);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private StudentDto toDto(int index) {
+        long createdAt = createdAts[index];
+        return new StudentDto(
+                ids[index],
+                studentIds[index],
+                dictionary.decode(firstNames[index]),
+                dictionary.decode(lastNames[index]),
+                LocalDate.ofEpochDay(dobs[index]),
+                dictionary.decode(classNames[index]),
+                scores[index],
+                createdAt == NO_CREATED_AT ? null
+                        : LocalDateTime.ofEpochSecond(Math.floorDiv(createdAt, 1000),
+                                (int) Math.floorMod(createdAt, 1000) * 1_000_000, ZoneOffset.UTC)
+        );
+    }
+
+    private interface IndexVisitor {
+        void visit(int index);
+    }
+
+    /**
+     * Appends rows in ascending student ID order and builds the table
+     */
+    public static final class Builder {
+        private final StringDictionary dictionary;
+        private int size;
+        private long[] ids;
+        private long[] studentIds;
+        private int[] firstNames;
+        private int[] lastNames;
+        private int[] classNames;
+        private int[] dobs;
+        private int[] scores;
+        private long[] createdAts;
+
+        private Builder(StringDictionary dictionary, int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            this.dictionary = dictionary;
+            this.ids = new long[capacity];
+            this.studentIds = new long[capacity];
+            this.firstNames = new int[capacity];
+            this.lastNames = new int[capacity];
+            this.classNames = new int[capacity];
+            this.dobs = new int[capacity];
+            this.scores = new int[capacity];
+            this.createdAts = new long[capacity];
+        }
+
+        /**
+         * Append a row; student IDs must be strictly ascending
+         */
+        public Builder add(StudentDto student) {
+            int index = nextIndex(student.getStudentId());
+            ids[index] = student.getId() != null ? student.getId() : 0;
+            studentIds[index] = student.getStudentId();
+            firstNames[index] = dictionary.encode(student.getFirstName());
+            lastNames[index] = dictionary.encode(student.getLastName());
+            classNames[index] = dictionary.encode(student.getClassName());
+            dobs[index] = (int) student.getDob().toEpochDay();
+            scores[index] = student.getScore();
+            createdAts[index] = student.getCreatedAt() != null
+                    ? student.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                    : NO_CREATED_AT;
+            return this;
+        }
+
+        private void copyRow(ColumnarStudentTable table, int row) {
+            int index = nextIndex(table.studentIds[row]);
+            ids[index] = table.ids[row];
+            studentIds[index] = table.studentIds[row];
+            firstNames[index] = table.firstNames[row];
+            lastNames[index] = table.lastNames[row];
+            classNames[index] = table.classNames[row];
+            dobs[index] = table.dobs[row];
+            scores[index] = table.scores[row];
+            createdAts[index] = table.createdAts[row];
+        }
+
+        private int nextIndex(long studentId) {
+            if (size > 0 && studentIds[size - 1] >= studentId) {
+                throw new IllegalArgumentException("Rows must be added in ascending student ID order, got "
+                        + studentId + " after " + studentIds[size - 1]);
+            }
+            if (size == studentIds.length) {
+                grow();
+            }
+            return size++;
+        }
+
+        private void grow() {
+            int capacity = studentIds.length + (studentIds.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            studentIds = Arrays.copyOf(studentIds, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+            classNames = Arrays.copyOf(classNames, capacity);
+            dobs = Arrays.copyOf(dobs, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            createdAts = Arrays.copyOf(createdAts, capacity);
+        }
+
+        public ColumnarStudentTable build() {
+            return new ColumnarStudentTable(this);
+        }
+    }
+
+    /**
+     * Append-only string dictionary shared by a table and the tables derived from it.
+     * Codes are never reused, so a table only ever sees codes that existed when it was built.
+     */
+    private static final class StringDictionary {
+        private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[64];
+        private int size;
+
+        synchronized int encode(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            codes.put(value, size);
+            return size++;
+        }
+
+        int lookup(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        String decode(int code) {
+            return values[code];
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.studentpipeline.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Immutable set of optional student filters shared by report pages and exports. Null fields
+ * are not filtered on; score and date-of-birth ranges are inclusive on both ends.
+ */
+public final class StudentFilter {
+
+    private static final StudentFilter NONE = builder().build();
+
+    private final Long studentId;
+    private final String className;
+    private final Long importBatchId;
+    private final Integer minScore;
+    private final Integer maxScore;
+    private final LocalDate dobFrom;
+    private final LocalDate dobTo;
+
+    private StudentFilter(Builder builder) {
+        this.studentId = builder.studentId;
+        this.className = builder.className;
+        this.importBatchId = builder.importBatchId;
+        this.minScore = builder.minScore;
+        this.maxScore = builder.maxScore;
+        this.dobFrom = builder.dobFrom;
+        this.dobTo = builder.dobTo;
+    }
+
+    /**
+     * A filter matching every student
+     */
+    public static StudentFilter none() {
+        return NONE;
+    }
+
+    /**
+     * A filter on student ID and/or class name only
+     */
+    public static StudentFilter of(Long studentId, String className) {
+        return builder().studentId(studentId).className(className).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Check that score and date-of-birth ranges are not inverted
+     *
+     * @return the error message, or null when the ranges are valid
+     */
+    public static String validateRanges(Integer minScore, Integer maxScore, LocalDate dobFrom, LocalDate dobTo) {
+        if (minScore != null && maxScore != null && minScore > maxScore) {
+            return "minScore cannot be greater than maxScore";
+        }
+        if (dobFrom != null && dobTo != null && dobFrom.isAfter(dobTo)) {
+            return "dobFrom cannot be after dobTo";
+        }
+        return null;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public Long getImportBatchId() {
+        return importBatchId;
+    }
+
+    public Integer getMinScore() {
+        return minScore;
+    }
+
+    public Integer getMaxScore() {
+        return maxScore;
+    }
+
+    public LocalDate getDobFrom() {
+        return dobFrom;
+    }
+
+    public LocalDate getDobTo() {
+        return dobTo;
+    }
+
+    /**
+     * Whether only student ID and class name are filtered on, the filters the in-memory read
+     * replica can answer
+     */
+    public boolean isKeyFilterOnly() {
+        return importBatchId == null && minScore == null && maxScore == null && dobFrom == null && dobTo == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StudentFilter)) return false;
+        StudentFilter other = (StudentFilter) o;
+        return Objects.equals(studentId, other.studentId)
+                && Objects.equals(className, other.className)
+                && Objects.equals(importBatchId, other.importBatchId)
+                && Objects.equals(minScore, other.minScore)
+                && Objects.equals(maxScore, other.maxScore)
+                && Objects.equals(dobFrom, other.dobFrom)
+                && Objects.equals(dobTo, other.dobTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, className, importBatchId, minScore, maxScore, dobFrom, dobTo);
+    }
+
+    // Also used as part of export cache keys, so every field must appear
+    @Override
+    public String toString() {
+        return "StudentFilter{" +
+                "studentId=" + studentId +
+                ", className='" + className + '\'' +
+                ", importBatchId=" + importBatchId +
+                ", minScore=" + minScore +
+                ", maxScore=" + maxScore +
+                ", dobFrom=" + dobFrom +
+                ", dobTo=" + dobTo +
+                '}';
+    }
+
+    public static final class Builder {
+        private Long studentId;
+        private String className;
+        private Long importBatchId;
+        private Integer minScore;
+        private Integer maxScore;
+        private LocalDate dobFrom;
+        private LocalDate dobTo;
+
+        private Builder() {
+        }
+
+        public Builder studentId(Long studentId) {
+            this.studentId = studentId;
+            return this;
+        }
+
+        public Builder className(String className) {
+            this.className = className;
+            return this;
+        }
+
+        public Builder importBatchId(Long importBatchId) {
+            this.importBatchId = importBatchId;
+            return this;
+        }
+
+        public Builder scoreRange(Integer minScore, Integer maxScore) {
+            this.minScore = minScore;
+            this.maxScore = maxScore;
+            return this;
+        }
+
+        public Builder dobRange(LocalDate dobFrom, LocalDate dobTo) {
+            this.dobFrom = dobFrom;
+            this.dobTo = dobTo;
+            return this;
+        }
+
+        public StudentFilter build() {
+            return new StudentFilter(this);
+        }
+    }
+}
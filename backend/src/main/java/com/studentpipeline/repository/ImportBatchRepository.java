@@ -0,0 +1,16 @@
+package com.studentpipeline.repository;
+
+import com.studentpipeline.entity.ImportBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportBatchRepository extends JpaRepository<ImportBatch, Long> {
+
+    /**
+     * Get all import batches, newest first
+     */
+    List<ImportBatch> findAllByOrderByIdDesc();
+}
@@ -0,0 +1,17 @@
+package com.studentpipeline.repository;
+
+import com.studentpipeline.entity.ImportLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImportLedgerRepository extends JpaRepository<ImportLedgerEntry, Long> {
+
+    /**
+     * Get the latest result recorded for a file fingerprint and operation
+     */
+    Optional<ImportLedgerEntry> findFirstByFingerprintAndFileSizeAndOperationOrderByIdDesc(
+            String fingerprint, Long fileSize, String operation);
+}
@@ -0,0 +1,16 @@
+package com.studentpipeline.repository;
+
+import com.studentpipeline.entity.StudentClassSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentClassSummaryRepository extends JpaRepository<StudentClassSummary, String> {
+
+    /**
+     * Get all class summaries ordered by class name
+     */
+    List<StudentClassSummary> findAllByOrderByClassNameAsc();
+}
@@ -0,0 +1,27 @@
+package com.studentpipeline.repository;
+
+import com.studentpipeline.dto.StudentDto;
+import com.studentpipeline.entity.Student;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Read-only projection queries: rows are built straight into {@link StudentDto}s instead of
+ * being loaded as managed entities and copied
+ */
+public interface StudentQueryRepository {
+
+    /**
+     * Get a page of students matching the specification
+     */
+    Page<StudentDto> findDtos(Specification<Student> specification, Pageable pageable);
+
+    /**
+     * Get all students matching the specification
+     */
+    List<StudentDto> findAllDtos(Specification<Student> specification, Sort sort);
+}
@@ -0,0 +1,97 @@
+package com.studentpipeline.repository;
+
+import com.studentpipeline.dto.StudentDto;
+import com.studentpipeline.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Criteria constructor-expression implementation of {@link StudentQueryRepository}. The DTOs never
+ * enter the persistence context, so there are no entity snapshots to keep or dirty-check, and
+ * flushing is disabled because these queries never depend on pending changes.
+ */
+@Transactional(readOnly = true)
+public class StudentQueryRepositoryImpl implements StudentQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<StudentDto> findDtos(Specification<Student> specification, Pageable pageable) {
+        TypedQuery<StudentDto> query = createQuery(specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        // Skips the count query when the first page is not full
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<StudentDto> findAllDtos(Specification<Student> specification, Sort sort) {
+        return createQuery(specification, sort).getResultList();
+    }
+
+    private TypedQuery<StudentDto> createQuery(Specification<Student> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentDto> criteria = cb.createQuery(StudentDto.class);
+        Root<Student> root = criteria.from(Student.class);
+
+        criteria.select(cb.construct(StudentDto.class,
+                root.get("id"),
+                root.get("studentId"),
+                root.get("firstName"),
+                root.get("lastName"),
+                root.get("dob"),
+                root.get("className"),
+                root.get("score"),
+                root.get("createdAt")));
+        applySpecification(specification, root, criteria, cb);
+        criteria.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return readOnly(entityManager.createQuery(criteria));
+    }
+
+    private long count(Specification<Student> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<Student> root = criteria.from(Student.class);
+
+        criteria.select(cb.count(root));
+        applySpecification(specification, root, criteria, cb);
+
+        return readOnly(entityManager.createQuery(criteria)).getSingleResult();
+    }
+
+    private void applySpecification(Specification<Student> specification, Root<Student> root,
+                                    CriteriaQuery<?> criteria, CriteriaBuilder cb) {
+        Predicate predicate = specification != null ? specification.toPredicate(root, criteria, cb) : null;
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+    }
+
+    private <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+        query.setFlushMode(FlushModeType.COMMIT);
+        query.setHint(HibernateHints.HINT_FLUSH_MODE, "MANUAL");
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query;
+    }
+}
@@ -1,24 +1,43 @@
 package com.studentpipeline.repository;
 
+import com.studentpipeline.dto.StudentDto;
 import com.studentpipeline.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 
+/**
+ * Filtered queries go through {@link JpaSpecificationExecutor} with {@link StudentSpecifications};
+ * read paths use the DTO projections of {@link StudentQueryRepository}
+ */
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student>,
+        StudentQueryRepository {
 
     /**
      * Find student by student ID
      */
     Optional<Student> findByStudentId(Long studentId);
 
+    /**
+     * Find student by student ID as a DTO, without loading a managed entity
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new com.studentpipeline.dto.StudentDto(s.id, s.studentId, s.firstName, s.lastName, " +
+           "s.dob, s.className, s.score, s.createdAt) FROM Student s WHERE s.studentId = :studentId")
+    Optional<StudentDto> findDtoByStudentId(@Param("studentId") Long studentId);
+
     /**
      * Find students by class name with pagination
      */
@@ -34,26 +53,6 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     boolean existsByStudentId(Long studentId);
 
-    /**
-     * Custom query to find students with filters
-     */
-    @Query("SELECT s FROM Student s WHERE " +
-           "(:studentId IS NULL OR s.studentId = :studentId) AND " +
-           "(:className IS NULL OR s.className = :className)")
-    Page<Student> findStudentsWithFilters(@Param("studentId") Long studentId,
-                                        @Param("className") String className,
-                                        Pageable pageable);
-
-    /**
-     * Get all students with filters (for exports)
-     */
-    @Query("SELECT s FROM Student s WHERE " +
-           "(:studentId IS NULL OR s.studentId = :studentId) AND " +
-           "(:className IS NULL OR s.className = :className) " +
-           "ORDER BY s.studentId ASC")
-    List<Student> findAllStudentsWithFilters(@Param("studentId") Long studentId,
-                                           @Param("className") String className);
-
     /**
      * Count students by class name
      */
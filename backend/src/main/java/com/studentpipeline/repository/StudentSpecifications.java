@@ -0,0 +1,86 @@
+package com.studentpipeline.repository;
+
+import com.studentpipeline.entity.Student;
+import com.studentpipeline.model.StudentFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Dynamic student filters. Only the filters that are set become predicates, so PostgreSQL
+ * plans each combination on its own (e.g. an index range scan on (class_name, student_id))
+ * instead of one generic plan for "(:x IS NULL OR ...)" conditions.
+ */
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    /**
+     * Combine the set filters of the given filter; null filters are left out of the query
+     */
+    public static Specification<Student> withFilters(StudentFilter filter) {
+        Specification<Student> specification = Specification.where(null);
+        if (filter.getStudentId() != null) {
+            specification = specification.and(hasStudentId(filter.getStudentId()));
+        }
+        if (filter.getClassName() != null) {
+            specification = specification.and(hasClassName(filter.getClassName()));
+        }
+        if (filter.getImportBatchId() != null) {
+            specification = specification.and(inImportBatch(filter.getImportBatchId()));
+        }
+        if (filter.getMinScore() != null || filter.getMaxScore() != null) {
+            specification = specification.and(scoreBetween(filter.getMinScore(), filter.getMaxScore()));
+        }
+        if (filter.getDobFrom() != null || filter.getDobTo() != null) {
+            specification = specification.and(bornBetween(filter.getDobFrom(), filter.getDobTo()));
+        }
+        return specification;
+    }
+
+    public static Specification<Student> hasStudentId(Long studentId) {
+        return (root, query, cb) -> cb.equal(root.get("studentId"), studentId);
+    }
+
+    public static Specification<Student> hasClassName(String className) {
+        return (root, query, cb) -> cb.equal(root.get("className"), className);
+    }
+
+    /**
+     * Filtering by import batch prunes the scan to that batch's partition
+     */
+    public static Specification<Student> inImportBatch(Long importBatchId) {
+        return (root, query, cb) -> cb.equal(root.get("importBatchId"), importBatchId);
+    }
+
+    /**
+     * Inclusive score range (either bound may be null), served by idx_student_score
+     */
+    public static Specification<Student> scoreBetween(Integer minScore, Integer maxScore) {
+        return (root, query, cb) -> {
+            if (minScore == null) {
+                return cb.lessThanOrEqualTo(root.get("score"), maxScore);
+            }
+            if (maxScore == null) {
+                return cb.greaterThanOrEqualTo(root.get("score"), minScore);
+            }
+            return cb.between(root.get("score"), minScore, maxScore);
+        };
+    }
+
+    /**
+     * Inclusive date-of-birth range (either bound may be null), served by idx_student_dob
+     */
+    public static Specification<Student> bornBetween(LocalDate dobFrom, LocalDate dobTo) {
+        return (root, query, cb) -> {
+            if (dobFrom == null) {
+                return cb.lessThanOrEqualTo(root.get("dob"), dobTo);
+            }
+            if (dobTo == null) {
+                return cb.greaterThanOrEqualTo(root.get("dob"), dobFrom);
+            }
+            return cb.between(root.get("dob"), dobFrom, dobTo);
+        };
+    }
+}
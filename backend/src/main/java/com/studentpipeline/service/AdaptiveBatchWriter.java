@@ -0,0 +1,210 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.BatchWriterConfig;
+import com.studentpipeline.util.AdaptiveBatchSizer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDBC batch writer for the upload path. The batch size is tuned at runtime from the measured
+ * latency and throughput of each batch ({@link AdaptiveBatchSizer}), so it settles near the best
+ * size for the database at hand, local or remote. Each upload writes through its own
+ * {@link Session} with its own sizer, so concurrent uploads do not mix their measurements; a new
+ * session starts from the size the last one settled on. Every batch runs in a savepoint; a batch
+ * that fails on bad data is bisected until the offending rows are isolated and skipped, instead
+ * of aborting the upload.
+ */
+@Service
+public class AdaptiveBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBatchWriter.class);
+    private static final int RECENT_SIZES = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BatchWriterConfig batchWriterConfig;
+
+    private TransactionTemplate savepoint;
+    // Sizer of the session that wrote last; new sessions start from its size
+    private volatile AdaptiveBatchSizer lastSizer;
+
+    private final AtomicLong batchesWritten = new AtomicLong();
+    private final AtomicLong batchesBisected = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final Deque<Integer> recentSizes = new ArrayDeque<>();
+    private volatile long lastBatchMs;
+
+    @PostConstruct
+    void init() {
+        lastSizer = newSizer(batchWriterConfig.getInitialSize());
+        // NESTED runs each batch in a savepoint of the caller's transaction
+        savepoint = new TransactionTemplate(transactionManager);
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    /**
+     * Start writing an upload; use one session per upload
+     */
+    public Session newSession() {
+        return new Session(newSizer(lastSizer.getSize()));
+    }
+
+    private AdaptiveBatchSizer newSizer(int initialSize) {
+        return new AdaptiveBatchSizer(initialSize, batchWriterConfig.getMinSize(), batchWriterConfig.getMaxSize(),
+                batchWriterConfig.getStep(), batchWriterConfig.getTargetLatencyMs());
+    }
+
+    /**
+     * Writer statistics, including the batch sizes recently chosen
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        AdaptiveBatchSizer sizer = lastSizer;
+        stats.put("batchSize", sizer.getSize());
+        synchronized (recentSizes) {
+            stats.put("recentBatchSizes", new ArrayList<>(recentSizes));
+        }
+        stats.put("lastBatchMs", lastBatchMs);
+        stats.put("lastRowsPerSecond", Math.round(sizer.getLastRowsPerSecond()));
+        stats.put("batchesWritten", batchesWritten.get());
+        stats.put("batchesBisected", batchesBisected.get());
+        stats.put("rowsWritten", rowsWritten.get());
+        stats.put("rowsRejected", rowsRejected.get());
+        return stats;
+    }
+
+    /**
+     * Split rows whose insert just failed and retry the halves; a single failed row is rejected
+     */
+    private BatchResult split(String sql, List<Object[]> rows, DataIntegrityViolationException e) {
+        if (rows.size() == 1) {
+            logger.warn("Rejected row {}: {}", Arrays.toString(rows.get(0)), e.getMostSpecificCause().getMessage());
+            return new BatchResult(0, 1);
+        }
+        int middle = rows.size() / 2;
+        BatchResult first = bisect(sql, rows.subList(0, middle));
+        BatchResult second = bisect(sql, rows.subList(middle, rows.size()));
+        return new BatchResult(first.getInserted() + second.getInserted(), first.getRejected() + second.getRejected());
+    }
+
+    private BatchResult bisect(String sql, List<Object[]> rows) {
+        try {
+            return new BatchResult(insert(sql, rows), 0);
+        } catch (DataIntegrityViolationException e) {
+            return split(sql, rows, e);
+        }
+    }
+
+    // A failed statement only rolls back to the savepoint, so the caller's transaction stays usable
+    private int insert(String sql, List<Object[]> rows) {
+        int[] updateCounts = savepoint.execute(status -> jdbcTemplate.batchUpdate(sql, rows));
+        int inserted = 0;
+        for (int count : updateCounts) {
+            if (count > 0) inserted++;
+        }
+        return inserted;
+    }
+
+    /**
+     * The batch writer of one upload
+     */
+    public class Session {
+
+        private final AdaptiveBatchSizer sizer;
+
+        private Session(AdaptiveBatchSizer sizer) {
+            this.sizer = sizer;
+        }
+
+        /**
+         * Number of rows the caller should collect for its next batch
+         */
+        public int getBatchSize() {
+            return sizer.getSize();
+        }
+
+        /**
+         * Insert rows with one JDBC batch. Must be called inside a transaction. Rows rejected by the
+         * database (constraint violations, values too long) are logged and left out; other failures
+         * propagate.
+         */
+        public BatchResult write(String sql, List<Object[]> rows) {
+            if (rows.isEmpty()) {
+                return new BatchResult(0, 0);
+            }
+
+            int size = rows.size();
+            long start = System.nanoTime();
+            BatchResult result;
+            try {
+                result = new BatchResult(insert(sql, rows), 0);
+                long elapsed = System.nanoTime() - start;
+                lastBatchMs = elapsed / 1_000_000;
+                sizer.onSuccess(size, elapsed);
+            } catch (DataIntegrityViolationException e) {
+                batchesBisected.incrementAndGet();
+                sizer.onFailure();
+                logger.warn("Batch of {} rows rejected ({}), bisecting to isolate the bad rows",
+                           size, e.getMostSpecificCause().getMessage());
+                // The full batch just failed, so split it right away rather than retrying it whole
+                result = split(sql, rows, e);
+            }
+            lastSizer = sizer;
+
+            batchesWritten.incrementAndGet();
+            rowsWritten.addAndGet(result.getInserted());
+            rowsRejected.addAndGet(result.getRejected());
+            synchronized (recentSizes) {
+                recentSizes.addLast(size);
+                if (recentSizes.size() > RECENT_SIZES) {
+                    recentSizes.removeFirst();
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Rows inserted and rows rejected by one write
+     */
+    public static class BatchResult {
+        private final int inserted;
+        private final int rejected;
+
+        public BatchResult(int inserted, int rejected) {
+            this.inserted = inserted;
+            this.rejected = rejected;
+        }
+
+        public int getInserted() {
+            return inserted;
+        }
+
+        public int getRejected() {
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.AdmissionConfig;
+import com.studentpipeline.exception.OverloadedException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for heavy operations. Each operation type has its own concurrency limit
+ * (a bulkhead, so a burst of one kind cannot take every slot) and all admitted operations share a
+ * memory budget, reserved from an estimate made before the work starts. A request that does not
+ * fit waits up to the queue timeout for running operations to finish and is then rejected with
+ * an {@link OverloadedException}, so the JVM degrades by turning work away instead of thrashing.
+ */
+@Service
+public class AdmissionControlService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlService.class);
+    private static final long MB = 1024 * 1024;
+
+    // Buffers, row windows and batches of a streaming reader or writer, independent of the data size
+    private static final long STREAMING_WORKING_SET_BYTES = 64 * MB;
+    // SXSSF flushes rows to disk, but generated rows and strings are still allocated per record
+    private static final long GENERATED_BYTES_PER_RECORD = 64;
+    // XSSFWorkbook builds the whole workbook in memory: roughly 40x the zipped .xlsx size
+    private static final long WORKBOOK_BYTES_PER_FILE_BYTE = 40;
+    // StudentDto plus its strings and list slot when an export materializes the student list
+    private static final long MATERIALIZED_BYTES_PER_ROW = 300;
+    // Cursor fetch window and JSON output buffer of a report stream
+    private static final long REPORT_STREAM_BYTES = 8 * MB;
+
+    public enum Operation { GENERATION, CONVERSION, UPLOAD, EXPORT, REPORT_STREAM }
+
+    @Autowired
+    private AdmissionConfig admissionConfig;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<Operation, Integer> active = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> admitted = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> rejected = new EnumMap<>(Operation.class);
+    private long memoryBudget;
+    private long reservedBytes;
+
+    @PostConstruct
+    void init() {
+        memoryBudget = Runtime.getRuntime().maxMemory() / 100 * admissionConfig.getMemoryBudgetPercent();
+        for (Operation operation : Operation.values()) {
+            active.put(operation, 0);
+            admitted.put(operation, 0L);
+            rejected.put(operation, 0L);
+        }
+        logger.info("Admission control {}: memory budget {} MB, limits {}", admissionConfig.isEnabled() ? "on" : "off",
+                   memoryBudget / MB, limits());
+    }
+
+    /**
+     * Estimated heap use of generating an Excel file with the given number of records
+     */
+    public long estimateGeneration(long records) {
+        return STREAMING_WORKING_SET_BYTES + records * GENERATED_BYTES_PER_RECORD;
+    }
+
+    /**
+     * Estimated heap use of converting an uploaded Excel file of the given size to CSV
+     */
+    public long estimateConversion(long fileSize) {
+        return fileSize * WORKBOOK_BYTES_PER_FILE_BYTE;
+    }
+
+    /**
+     * Estimated heap use of loading an uploaded file into the database; rows are streamed in
+     * batches, so only the working set and the change tracking of the upload grow with the file
+     */
+    public long estimateUpload(long fileSize) {
+        return STREAMING_WORKING_SET_BYTES + fileSize / 4;
+    }
+
+    /**
+     * Estimated heap use of an export that is rendered from a database cursor
+     */
+    public long estimateStreamedExport() {
+        return STREAMING_WORKING_SET_BYTES;
+    }
+
+    /**
+     * Estimated heap use of an export that loads all of its rows first
+     */
+    public long estimateMaterializedExport(long rows) {
+        return STREAMING_WORKING_SET_BYTES + rows * MATERIALIZED_BYTES_PER_ROW;
+    }
+
+    /**
+     * Estimated heap use of an NDJSON report stream
+     */
+    public long estimateReportStream() {
+        return REPORT_STREAM_BYTES;
+    }
+
+    /**
+     * Admit an operation, waiting up to the queue timeout for a slot and for room in the memory budget.
+     * The permit must be closed when the operation ends.
+     *
+     * @throws OverloadedException when the operation is still not admitted after the queue timeout
+     */
+    public Permit admit(Operation operation, long estimatedBytes) {
+        if (!admissionConfig.isEnabled()) {
+            return new Permit(operation, 0, false);
+        }
+        // An operation larger than the whole budget runs, but only on its own
+        long bytes = Math.min(estimatedBytes, memoryBudget);
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(admissionConfig.getQueueTimeoutMs());
+
+        lock.lock();
+        try {
+            while (!fits(operation, bytes)) {
+                if (remainingNanos <= 0) {
+                    rejected.merge(operation, 1L, Long::sum);
+                    logger.warn("Rejected {} needing ~{} MB: {} of {} running, {} of {} MB reserved", operation,
+                               bytes / MB, active.get(operation), limit(operation), reservedBytes / MB, memoryBudget / MB);
+                    throw new OverloadedException(String.format(
+                            "Too many %s operations in progress, please retry later", operation.name().toLowerCase()),
+                            admissionConfig.getRetryAfterSeconds());
+                }
+                try {
+                    remainingNanos = released.awaitNanos(remainingNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    remainingNanos = 0;
+                }
+            }
+            active.merge(operation, 1, Integer::sum);
+            admitted.merge(operation, 1L, Long::sum);
+            reservedBytes += bytes;
+            logger.debug("Admitted {} reserving ~{} MB ({} of {} MB reserved)", operation, bytes / MB,
+                        reservedBytes / MB, memoryBudget / MB);
+            return new Permit(operation, bytes, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean fits(Operation operation, long bytes) {
+        return active.get(operation) < limit(operation) && reservedBytes + bytes <= memoryBudget;
+    }
+
+    private void release(Operation operation, long bytes) {
+        lock.lock();
+        try {
+            active.merge(operation, -1, Integer::sum);
+            reservedBytes -= bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int limit(Operation operation) {
+        switch (operation) {
+            case GENERATION:
+                return admissionConfig.getMaxGenerations();
+            case CONVERSION:
+                return admissionConfig.getMaxConversions();
+            case UPLOAD:
+                return admissionConfig.getMaxUploads();
+            case REPORT_STREAM:
+                return admissionConfig.getMaxReportStreams();
+            default:
+                return admissionConfig.getMaxExports();
+        }
+    }
+
+    private Map<Operation, Integer> limits() {
+        Map<Operation, Integer> limits = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            limits.put(operation, limit(operation));
+        }
+        return limits;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            stats.put("enabled", admissionConfig.isEnabled());
+            stats.put("memoryBudgetMb", memoryBudget / MB);
+            stats.put("reservedMb", reservedBytes / MB);
+            stats.put("limits", limits());
+            stats.put("active", new EnumMap<>(active));
+            stats.put("admitted", new EnumMap<>(admitted));
+            stats.put("rejected", new EnumMap<>(rejected));
+        } finally {
+            lock.unlock();
+        }
+        return stats;
+    }
+
+    /**
+     * An admitted operation; closing it (once) frees its slot and memory reservation
+     */
+    public class Permit implements AutoCloseable {
+
+        private final Operation operation;
+        private final long bytes;
+        private final AtomicBoolean open;
+
+        private Permit(Operation operation, long bytes, boolean counted) {
+            this.operation = operation;
+            this.bytes = bytes;
+            this.open = new AtomicBoolean(counted);
+        }
+
+        @Override
+        public void close() {
+            if (open.compareAndSet(true, false)) {
+                release(operation, bytes);
+            }
+        }
+
+        /**
+         * Hand the permit over to a response: a streamed body closes it once written, any other
+         * response has already done its work and closes it now. A streamed body that never runs
+         * (async timeout, client gone before dispatch, rejected by the task executor) still closes
+         * it when the async request completes.
+         */
+        public ResponseEntity<?> releaseAfter(ResponseEntity<?> response) {
+            if (response.getBody() instanceof StreamingResponseBody body) {
+                StreamingResponseBody releasing = outputStream -> {
+                    try {
+                        body.writeTo(outputStream);
+                    } finally {
+                        close();
+                    }
+                };
+                closeOnAsyncCompletion();
+                return new ResponseEntity<>(releasing, response.getHeaders(), response.getStatusCode());
+            }
+            close();
+            return response;
+        }
+
+        private void closeOnAsyncCompletion() {
+            if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+                return;
+            }
+            // Called on completion, timeout and error of the async request, whether or not the body ran
+            WebAsyncUtils.getAsyncManager(attributes.getRequest())
+                    .registerCallableInterceptor(this, new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                            close();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.entity.StudentClassSummary;
+import com.studentpipeline.repository.StudentClassSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maintains the student_class_summary table (count, score sum, min and max per class).
+ * Write paths apply their deltas in the same transaction as the rows they change, so the
+ * summary is exactly as current as the student table; {@link #rebuild()} recomputes it from
+ * scratch to repair any drift.
+ */
+@Service
+public class ClassSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassSummaryService.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO student_class_summary (class_name, student_count, score_sum, min_score, max_score, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (class_name) DO UPDATE SET " +
+            "student_count = student_class_summary.student_count + EXCLUDED.student_count, " +
+            "score_sum = student_class_summary.score_sum + EXCLUDED.score_sum, " +
+            "min_score = LEAST(student_class_summary.min_score, EXCLUDED.min_score), " +
+            "max_score = GREATEST(student_class_summary.max_score, EXCLUDED.max_score), " +
+            "updated_at = CURRENT_TIMESTAMP";
+
+    // Min/max cannot be decremented, so they are re-read from the class when the deleted score was an extreme
+    private static final String DECREMENT_SQL =
+            "UPDATE student_class_summary SET " +
+            "student_count = student_count - 1, " +
+            "score_sum = score_sum - ?, " +
+            "min_score = CASE WHEN ? > min_score THEN min_score ELSE " +
+            "(SELECT MIN(score) FROM student WHERE class_name = ? AND student_id <> ?) END, " +
+            "max_score = CASE WHEN ? < max_score THEN max_score ELSE " +
+            "(SELECT MAX(score) FROM student WHERE class_name = ? AND student_id <> ?) END, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE class_name = ?";
+
+    private static final String SUBTRACT_SQL =
+            "UPDATE student_class_summary SET " +
+            "student_count = student_count - ?, " +
+            "score_sum = score_sum - ?, " +
+            "min_score = CASE WHEN ? > min_score THEN min_score ELSE " +
+            "(SELECT MIN(score) FROM student WHERE class_name = ?) END, " +
+            "max_score = CASE WHEN ? < max_score THEN max_score ELSE " +
+            "(SELECT MAX(score) FROM student WHERE class_name = ?) END, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE class_name = ?";
+
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM student_class_summary WHERE class_name = ? AND student_count <= 0";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO student_class_summary (class_name, student_count, score_sum, min_score, max_score, updated_at) " +
+            "SELECT class_name, COUNT(*), SUM(score), MIN(score), MAX(score), CURRENT_TIMESTAMP " +
+            "FROM student GROUP BY class_name";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentClassSummaryRepository summaryRepository;
+
+    /**
+     * Get the summary rows ordered by class name
+     */
+    @Transactional(readOnly = true)
+    public List<StudentClassSummary> getSummaries() {
+        return summaryRepository.findAllByOrderByClassNameAsc();
+    }
+
+    /**
+     * Get the student count of one class
+     */
+    @Transactional(readOnly = true)
+    public long getCount(String className) {
+        return summaryRepository.findById(className)
+                .map(StudentClassSummary::getStudentCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Get the total student count across all classes
+     */
+    @Transactional(readOnly = true)
+    public long getTotalCount() {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(student_count), 0) FROM student_class_summary", Long.class);
+        return total != null ? total : 0;
+    }
+
+    /**
+     * Add a batch of inserted rows, aggregated in memory, to the summary. Must run in the
+     * transaction that inserted them.
+     */
+    @Transactional
+    public void applyInserts(BatchSummary batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(batch.classes.size());
+        for (Map.Entry<String, long[]> entry : batch.classes.entrySet()) {
+            long[] aggregate = entry.getValue();
+            batchArgs.add(new Object[]{entry.getKey(), aggregate[0], aggregate[1], (int) aggregate[2], (int) aggregate[3]});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    /**
+     * Remove one deleted student from the summary. Must run in the transaction that deleted it.
+     */
+    @Transactional
+    public void applyDelete(Long studentId, String className, int score) {
+        jdbcTemplate.update(DECREMENT_SQL, score, score, className, studentId, score, className, studentId, className);
+        jdbcTemplate.update(DELETE_EMPTY_SQL, className);
+    }
+
+    /**
+     * Subtract rows that have already been removed from the student table (e.g. a dropped
+     * import batch). Must run in the transaction that removed them.
+     */
+    @Transactional
+    public void applyRemovals(BatchSummary removed) {
+        for (Map.Entry<String, long[]> entry : removed.classes.entrySet()) {
+            String className = entry.getKey();
+            long[] aggregate = entry.getValue();
+            jdbcTemplate.update(SUBTRACT_SQL, aggregate[0], aggregate[1],
+                    (int) aggregate[2], className, (int) aggregate[3], className, className);
+            jdbcTemplate.update(DELETE_EMPTY_SQL, className);
+        }
+    }
+
+    /**
+     * Aggregate rows of a table (optionally filtered) per class
+     *
+     * @param source table name, optionally followed by a WHERE clause
+     */
+    public BatchSummary summarize(String source, Object... params) {
+        BatchSummary summary = new BatchSummary();
+        jdbcTemplate.query("SELECT class_name, COUNT(*), SUM(score), MIN(score), MAX(score) FROM " + source +
+                " GROUP BY class_name", (RowCallbackHandler) rs -> summary.add(
+                        rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getInt(5)), params);
+        return summary;
+    }
+
+    /**
+     * Recompute the summary from the student table. The summary is locked for the duration,
+     * so concurrent loads wait and apply their deltas on top of the rebuilt rows.
+     *
+     * @return number of classes summarised
+     */
+    @Transactional
+    public int rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        jdbcTemplate.execute("LOCK TABLE student_class_summary IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM student_class_summary");
+        int classes = jdbcTemplate.update(REBUILD_SQL);
+
+        logger.info("Rebuilt student class summary: {} classes in {} ms", classes, System.currentTimeMillis() - startTime);
+        return classes;
+    }
+
+    /**
+     * Periodic repair, disabled unless class-summary.repair-cron is set
+     */
+    @Scheduled(cron = "${class-summary.repair-cron:-}")
+    @Transactional
+    public void scheduledRebuild() {
+        logger.info("Running scheduled student class summary repair");
+        rebuild();
+    }
+
+    /**
+     * Populate the summary for a student table that predates it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeIfEmpty() {
+        Boolean summaryEmpty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM student_class_summary)", Boolean.class);
+        Boolean studentsPresent = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM student)", Boolean.class);
+
+        if (Boolean.TRUE.equals(summaryEmpty) && Boolean.TRUE.equals(studentsPresent)) {
+            logger.info("Student class summary is empty, building it from the student table");
+            rebuild();
+        }
+    }
+
+    /**
+     * In-memory aggregate of a batch of inserted rows: count, score sum, min and max per class
+     */
+    public static class BatchSummary {
+        // Sorted, so concurrent loads lock summary rows in the same order
+        private final Map<String, long[]> classes = new TreeMap<>();
+
+        public void add(String className, int score) {
+            add(className, 1, score, score, score);
+        }
+
+        /**
+         * Add pre-aggregated rows of a class
+         */
+        public void add(String className, long count, long scoreSum, int minScore, int maxScore) {
+            long[] aggregate = classes.computeIfAbsent(className,
+                    name -> new long[]{0, 0, Integer.MAX_VALUE, Integer.MIN_VALUE});
+            aggregate[0] += count;
+            aggregate[1] += scoreSum;
+            aggregate[2] = Math.min(aggregate[2], minScore);
+            aggregate[3] = Math.max(aggregate[3], maxScore);
+        }
+
+        public boolean isEmpty() {
+            return classes.isEmpty();
+        }
+
+        public long getTotalCount() {
+            long total = 0;
+            for (long[] aggregate : classes.values()) {
+                total += aggregate[0];
+            }
+            return total;
+        }
+
+        public Set<String> getClassNames() {
+            return classes.keySet();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.PipelineConfig;
+import com.studentpipeline.model.StudentFilter;
+import com.studentpipeline.repository.StudentRepository;
+import com.studentpipeline.repository.StudentSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures report page throughput under many concurrent clients, once with a fixed platform thread
+ * pool (the clients beyond its size wait for a thread) and once with a virtual thread per client
+ * (all clients run, database access is limited by a semaphore the size of the read pool). Optionally
+ * runs a bounded load of batched inserts into a temporary scratch table alongside. Queries bypass the
+ * caches and the read replica.
+ */
+@Service
+@Profile("benchmark")
+public class ConcurrencyBenchmarkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyBenchmarkService.class);
+    private static final String MODE_PLATFORM = "platformThreads";
+    private static final String MODE_VIRTUAL = "virtualThreads";
+    private static final int PAGE_SIZE = 50;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final long LOAD_MAX_ROWS = 5_000_000;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PipelineConfig pipelineConfig;
+
+    @Autowired
+    private PipelineExecutor pipelineExecutor;
+
+    @Value("${read-datasource.hikari.maximum-pool-size:10}")
+    private int readPoolSize;
+
+    /**
+     * Run the report workload in both thread modes
+     *
+     * @param concurrency concurrent clients
+     * @param requests    page requests in total, spread over the clients
+     * @param withLoad    whether to insert students in the background while the reports run
+     */
+    public Map<String, Object> benchmark(int concurrency, int requests, boolean withLoad) {
+        long totalStudents = studentRepository.count();
+        int pages = (int) Math.max(1, Math.min(totalStudents / PAGE_SIZE, 10_000));
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("concurrency", concurrency);
+        results.put("requests", requests);
+        results.put("withLoad", withLoad);
+        results.put("platformThreads", pipelineConfig.getPlatformThreads());
+        results.put("jdbcPermits", readPoolSize);
+
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(pipelineConfig.getPlatformThreads());
+        pool.setMaxPoolSize(pipelineConfig.getPlatformThreads());
+        pool.setThreadNamePrefix("bench-platform-");
+        pool.initialize();
+        try {
+            results.put(MODE_PLATFORM, run(pool, null, concurrency, requests, pages, withLoad));
+        } finally {
+            pool.shutdown();
+        }
+
+        if (Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("bench-virtual-");
+            virtualExecutor.setVirtualThreads(true);
+            results.put(MODE_VIRTUAL, run(virtualExecutor, new Semaphore(readPoolSize, true),
+                    concurrency, requests, pages, withLoad));
+        } else {
+            results.put(MODE_VIRTUAL, "unavailable before Java 21 (running " + Runtime.version() + ")");
+        }
+
+        logger.info("Concurrency benchmark: {}", results);
+        return results;
+    }
+
+    private Map<String, Object> run(AsyncTaskExecutor executor, Semaphore jdbcPermits, int concurrency,
+                                    int requests, int pages, boolean withLoad) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong rowsLoaded = new AtomicLong();
+        CompletableFuture<Void> load = withLoad
+                ? pipelineExecutor.runJdbcAsync(() -> insertLoad(running, rowsLoaded))
+                : CompletableFuture.completedFuture(null);
+
+        long[] latencies = new long[requests];
+        AtomicInteger nextRequest = new AtomicInteger();
+        List<CompletableFuture<Void>> clients = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        for (int c = 0; c < concurrency; c++) {
+            clients.add(CompletableFuture.runAsync(() -> {
+                int request;
+                while ((request = nextRequest.getAndIncrement()) < requests) {
+                    int page = ThreadLocalRandom.current().nextInt(pages);
+                    long requestStart = System.nanoTime();
+                    if (jdbcPermits != null) {
+                        jdbcPermits.acquireUninterruptibly();
+                    }
+                    try {
+                        readOnly.execute(status -> studentRepository.findDtos(
+                                StudentSpecifications.withFilters(StudentFilter.of(null, null)),
+                                PageRequest.of(page, PAGE_SIZE, Sort.by("studentId").ascending())));
+                    } finally {
+                        if (jdbcPermits != null) {
+                            jdbcPermits.release();
+                        }
+                    }
+                    latencies[request] = System.nanoTime() - requestStart;
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+        long elapsedNanos = System.nanoTime() - start;
+        running.set(false);
+        load.join();
+
+        // Latency is measured from the moment a client picks up the request, so it includes waiting for a permit
+        Arrays.sort(latencies);
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("totalMs", elapsedNanos / 1_000_000);
+        timing.put("requestsPerSecond", Math.round(requests * 1_000_000_000.0 / elapsedNanos));
+        timing.put("p50Ms", latencies[requests / 2] / 1_000_000.0);
+        timing.put("p95Ms", latencies[(int) Math.min(requests - 1, Math.round(requests * 0.95))] / 1_000_000.0);
+        timing.put("maxMs", latencies[requests - 1] / 1_000_000.0);
+        if (withLoad) {
+            timing.put("rowsLoaded", rowsLoaded.get());
+        }
+        return timing;
+    }
+
+    /**
+     * Insert batches of students into a temporary table until told to stop or the row cap is
+     * reached. The table lives in the load's own transaction and is dropped with it, so the
+     * student table and its id sequence are never touched.
+     */
+    private void insertLoad(AtomicBoolean running, AtomicLong inserted) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TEMPORARY TABLE concurrency_benchmark_load " +
+                    "(LIKE student EXCLUDING ALL) ON COMMIT DROP");
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+            while (running.get() && inserted.get() < LOAD_MAX_ROWS) {
+                List<Object[]> batchArgs = new ArrayList<>(LOAD_BATCH_SIZE);
+                for (int i = 0; i < LOAD_BATCH_SIZE; i++) {
+                    long studentId = inserted.incrementAndGet();
+                    batchArgs.add(new Object[]{studentId, studentId, "Load" + studentId, "Student",
+                            LocalDate.of(2005, 1, 1).plusDays(studentId % 3650),
+                            "Class" + (studentId % 5 + 1), 60 + (int) (studentId % 26), createdAt, 0L});
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO concurrency_benchmark_load (id, student_id, first_name, " +
+                        "last_name, dob, class_name, score, created_at, import_batch_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        batchArgs);
+            }
+            status.setRollbackOnly();
+        });
+    }
+}
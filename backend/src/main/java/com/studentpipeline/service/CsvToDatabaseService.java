@@ -4,12 +4,15 @@ import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 import com.studentpipeline.dto.FileOperationResponse;
 import com.studentpipeline.entity.Student;
+import com.studentpipeline.event.StudentDataChangedEvent;
 import com.studentpipeline.model.StudentRow;
-import com.studentpipeline.repository.StudentRepository;
+import com.studentpipeline.util.FileFingerprint;
+import com.studentpipeline.util.StudentRowHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,35 +23,81 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CsvToDatabaseService {
 
     private static final Logger logger = LoggerFactory.getLogger(CsvToDatabaseService.class);
-    private static final int BATCH_SIZE = 5000;
     private static final int PROGRESS_LOG_INTERVAL = 10000;
     private static final int ORIGINAL_EXCEL_SCORE_ADJUSTMENT = 5; // DB score = original Excel score + 5
+    private static final int MAX_TRACKED_STUDENT_IDS = 50000; // Larger uploads invalidate caches wholesale
+    private static final String OPERATION = "CSV_TO_DATABASE";
 
     @Autowired
-    private StudentRepository studentRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    private JdbcTemplate jdbcTemplate;
+    private ImportBatchService importBatchService;
+
+    @Autowired
+    private ImportLedgerService importLedgerService;
+
+    @Autowired
+    private AdaptiveBatchWriter batchWriter;
 
     /**
      * Upload CSV file and save students to database with batch processing
      */
     @Transactional
     public FileOperationResponse uploadCsvToDatabase(MultipartFile file) throws IOException, CsvException {
-        logger.info("Starting CSV to Database upload for file: {}", file.getOriginalFilename());
+        return uploadCsvToDatabase(file, false, false);
+    }
+
+    /**
+     * Upload CSV file and save students to database with batch processing
+     *
+     * @param upsert when true, rows for existing students overwrite them if their row hash differs
+     *               instead of being skipped; unchanged rows are not written
+     * @param force  when false, an insert of a file identical to an earlier, still attached upload
+     *               returns that upload's result without reading the rows
+     */
+    @Transactional
+    public FileOperationResponse uploadCsvToDatabase(MultipartFile file, boolean upsert, boolean force)
+            throws IOException, CsvException {
+        logger.info("Starting CSV to Database upload for file: {} (upsert: {})", file.getOriginalFilename(), upsert);
+
+        // Upserts always run: re-applying a file is how earlier values are restored
+        FileFingerprint fingerprint = null;
+        if (!upsert) {
+            fingerprint = importLedgerService.fingerprint(file);
+            if (!force) {
+                Optional<FileOperationResponse> recorded = importLedgerService.findResult(OPERATION, fingerprint);
+                if (recorded.isPresent()) {
+                    return recorded.get();
+                }
+            }
+        }
 
         long recordsProcessed = 0;
         long recordsInserted = 0;
+        long recordsUpdated = 0;
+        long recordsStaged = 0;
         long recordsSkipped = 0;
         long startTime = System.currentTimeMillis();
 
+        // Rows are loaded into a table of their own and attached as a partition at the end
+        long importBatchId = importBatchService.createBatch(file.getOriginalFilename(), OPERATION);
+        // Rows are written in file order, so a student ID repeated in the file keeps its last row
+        String insertSql = importBatchService.getInsertSql(importBatchId, true);
+
+        AdaptiveBatchWriter.Session batchWriterSession = batchWriter.newSession();
         List<Student> batch = new ArrayList<>();
+        Set<Long> changedStudentIds = new HashSet<>();
+        Set<String> changedClassNames = new HashSet<>();
 
         try (InputStreamReader reader = new InputStreamReader(file.getInputStream());
              CSVReader csvReader = new CSVReader(reader)) {
@@ -72,29 +121,37 @@ public class CsvToDatabaseService {
                         int dbScore = calculateDatabaseScore(studentRow.getScore());
                         studentRow.setScore(dbScore);
 
-                        // Check if student already exists
-                        if (!studentRepository.existsByStudentId(studentRow.getStudentId())) {
-                            Student student = studentRowToEntity(studentRow);
-                            batch.add(student);
+                        // Every row is staged: existing students are dropped (or, in upsert mode, compared
+                        // by hash) against the whole batch at once, not probed row by row in every partition
+                        Student student = studentRowToEntity(studentRow);
+                        batch.add(student);
 
-                            // Process batch when it reaches the batch size
-                            if (batch.size() >= BATCH_SIZE) {
-                                recordsInserted += processBatch(batch);
-                                batch.clear();
+                        changedClassNames.add(student.getClassName());
+                        if (changedStudentIds != null) {
+                            changedStudentIds.add(student.getStudentId());
+                            if (changedStudentIds.size() > MAX_TRACKED_STUDENT_IDS) {
+                                changedStudentIds = null;
                             }
-                        } else {
-                            recordsSkipped++;
-                            logger.debug("Student with ID {} already exists, skipping", studentRow.getStudentId());
+                        }
+
+                        // Process batch when it reaches the size the writer currently asks for
+                        if (batch.size() >= batchWriterSession.getBatchSize()) {
+                            AdaptiveBatchWriter.BatchResult result = processBatch(batchWriterSession, batch, insertSql);
+                            recordsStaged += result.getInserted();
+                            recordsSkipped += result.getRejected();
+                            batch.clear();
                         }
                     }
 
                     // Log progress
                     if (recordsProcessed % PROGRESS_LOG_INTERVAL == 0) {
                         long elapsed = System.currentTimeMillis() - startTime;
-                        logger.info("Processed {} records in {} ms (inserted: {}, skipped: {})",
-                                   recordsProcessed, elapsed, recordsInserted, recordsSkipped);
+                        logger.info("Processed {} records in {} ms (staged: {}, skipped: {})",
+                                   recordsProcessed, elapsed, recordsStaged, recordsSkipped);
                     }
 
+                } catch (DataAccessException e) {
+                    throw e; // The transaction is aborted, so the upload cannot continue
                 } catch (Exception e) {
                     logger.warn("Error processing CSV record {}: {}", recordsProcessed, e.getMessage());
                     recordsSkipped++;
@@ -103,20 +160,49 @@ public class CsvToDatabaseService {
 
             // Process remaining batch
             if (!batch.isEmpty()) {
-                recordsInserted += processBatch(batch);
+                AdaptiveBatchWriter.BatchResult result = processBatch(batchWriterSession, batch, insertSql);
+                recordsStaged += result.getInserted();
+                recordsSkipped += result.getRejected();
             }
         }
 
+        if (upsert) {
+            ClassSummaryService.BatchSummary replaced = importBatchService.updateExisting(importBatchId);
+            recordsUpdated = replaced.getTotalCount();
+            changedClassNames.addAll(replaced.getClassNames()); // classes that updated students moved out of
+        }
+
+        // Drops students that already exist, updates the class summary and attaches the partition
+        recordsInserted = importBatchService.attachBatch(importBatchId);
+        if (!upsert) {
+            // Rows of existing students and repeats within the file, dropped by the batch
+            recordsSkipped += recordsStaged - recordsInserted;
+        }
+
+        if (recordsInserted + recordsUpdated > 0) {
+            // Delivered to listeners after this transaction commits
+            eventPublisher.publishEvent(new StudentDataChangedEvent(
+                    StudentDataChangedEvent.ChangeType.INSERT, changedStudentIds, changedClassNames));
+        }
+
         long totalTime = System.currentTimeMillis() - startTime;
-        logger.info("CSV to Database upload completed. {} records processed, {} inserted, {} skipped in {} ms",
-                   recordsProcessed, recordsInserted, recordsSkipped, totalTime);
+        logger.info("CSV to Database upload completed. {} records processed, {} inserted, {} updated, {} skipped in {} ms",
+                   recordsProcessed, recordsInserted, recordsUpdated, recordsSkipped, totalTime);
 
-        return new FileOperationResponse(
+        FileOperationResponse response = new FileOperationResponse(
                 "Database",
                 file.getOriginalFilename(),
                 recordsInserted,
-                "CSV_TO_DATABASE"
+                OPERATION
         );
+        response.setImportBatchId(importBatchId);
+        if (upsert) {
+            response.setRecordsUpdated(recordsUpdated);
+        }
+        if (fingerprint != null) {
+            importLedgerService.recordResult(OPERATION, fingerprint, file.getOriginalFilename(), response);
+        }
+        return response;
     }
 
     private StudentRow parseCsvRecord(String[] record) {
@@ -181,47 +267,30 @@ public class CsvToDatabaseService {
         );
     }
 
-    @Transactional
-    private int processBatch(List<Student> students) {
-        try {
-            // Use batch insert with JDBC for better performance
-            String sql = "INSERT INTO student (student_id, first_name, last_name, dob, class_name, score, created_at) " +
-                        "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (student_id) DO NOTHING";
-
-            List<Object[]> batchArgs = new ArrayList<>();
-            for (Student student : students) {
-                batchArgs.add(new Object[]{
-                        student.getStudentId(),
-                        student.getFirstName(),
-                        student.getLastName(),
-                        student.getDob(),
-                        student.getClassName(),
-                        student.getScore(),
-                        student.getCreatedAt()
-                });
-            }
-
-            int[] updateCounts = jdbcTemplate.batchUpdate(sql, batchArgs);
-            int insertedCount = 0;
-            for (int count : updateCounts) {
-                if (count > 0) insertedCount++;
-            }
-
-            logger.debug("Batch processed: {} students inserted", insertedCount);
-            return insertedCount;
-
-        } catch (Exception e) {
-            logger.error("Error processing batch: {}", e.getMessage());
-            // Fallback to JPA save
-            try {
-                List<Student> savedStudents = studentRepository.saveAll(students);
-                logger.debug("Fallback batch processed via JPA: {} students", savedStudents.size());
-                return savedStudents.size();
-            } catch (Exception jpaException) {
-                logger.error("JPA fallback also failed: {}", jpaException.getMessage());
-                return 0;
-            }
+    /**
+     * Insert a batch into the import batch table. Rows the database rejects are isolated by the
+     * writer and skipped; any other failure propagates and aborts the upload.
+     */
+    private AdaptiveBatchWriter.BatchResult processBatch(AdaptiveBatchWriter.Session batchWriterSession,
+                                                         List<Student> students, String insertSql) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Student student : students) {
+            batchArgs.add(new Object[]{
+                    student.getStudentId(),
+                    student.getFirstName(),
+                    student.getLastName(),
+                    student.getDob(),
+                    student.getClassName(),
+                    student.getScore(),
+                    student.getCreatedAt(),
+                    StudentRowHash.of(student.getFirstName(), student.getLastName(), student.getDob(),
+                            student.getClassName(), student.getScore())
+            });
         }
+
+        AdaptiveBatchWriter.BatchResult result = batchWriterSession.write(insertSql, batchArgs);
+        logger.debug("Batch processed: {} students inserted, {} rejected", result.getInserted(), result.getRejected());
+        return result;
     }
 
     /**
@@ -0,0 +1,38 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.event.StudentDataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a version number for the contents of the student table.
+ * Every write path publishes a StudentDataChangedEvent, which bumps the version, so
+ * anything derived from the table (cached exports, cached query results) can be keyed
+ * by the version it was computed from.
+ */
+@Service
+public class DataVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataVersionService.class);
+
+    // Seeded from the clock so versions never repeat across restarts
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Bump the data version. Runs after commit, so a reader never pairs the new version
+     * with data that is not yet visible; outside a transaction it runs immediately.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentDataChanged(StudentDataChangedEvent event) {
+        long newVersion = version.incrementAndGet();
+        logger.debug("Student data version bumped to {} after {}", newVersion, event);
+    }
+}
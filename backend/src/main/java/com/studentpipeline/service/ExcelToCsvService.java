@@ -4,6 +4,7 @@ import com.opencsv.CSVWriter;
 import com.studentpipeline.config.DataPathConfig;
 import com.studentpipeline.dto.FileOperationResponse;
 import com.studentpipeline.model.StudentRow;
+import com.studentpipeline.util.FileFingerprint;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.util.IOUtils;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -20,6 +21,7 @@ import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Optional;
 
 @Service
 public class ExcelToCsvService {
@@ -27,9 +29,13 @@ public class ExcelToCsvService {
     private static final Logger logger = LoggerFactory.getLogger(ExcelToCsvService.class);
     private static final int PROGRESS_LOG_INTERVAL = 10000; // Log every 10K records for better visibility
     private static final int SCORE_ADJUSTMENT = 10; // Add 10 to Excel scores for CSV
+    private static final String OPERATION = "EXCEL_TO_CSV";
 
     @Autowired
     private DataPathConfig dataPathConfig;
+
+    @Autowired
+    private ImportLedgerService importLedgerService;
     
     // Static block to configure POI for large files
     static {
@@ -39,10 +45,21 @@ public class ExcelToCsvService {
 
     /**
      * Convert Excel file to CSV with score adjustment (+10)
+     *
+     * @param force when false, a file identical to an earlier conversion whose CSV is still
+     *              unchanged under the data directory returns that CSV without converting
      */
-    public FileOperationResponse convertExcelToCsv(MultipartFile file) throws IOException {
+    public FileOperationResponse convertExcelToCsv(MultipartFile file, boolean force) throws IOException {
         logger.info("Starting Excel to CSV conversion for file: {}", file.getOriginalFilename());
 
+        FileFingerprint fingerprint = importLedgerService.fingerprint(file);
+        if (!force) {
+            Optional<FileOperationResponse> recorded = importLedgerService.findResult(OPERATION, fingerprint);
+            if (recorded.isPresent()) {
+                return recorded.get();
+            }
+        }
+
         // Ensure data directory exists
         Path dataDir = Paths.get(dataPathConfig.getBase());
         Files.createDirectories(dataDir);
@@ -100,12 +117,14 @@ public class ExcelToCsvService {
         logger.info("Excel to CSV conversion completed. {} records processed in {} ms",
                    recordsProcessed, totalTime);
 
-        return new FileOperationResponse(
+        FileOperationResponse response = new FileOperationResponse(
                 csvFilePath.toAbsolutePath().toString(),
                 csvFileName,
                 recordsProcessed,
-                "EXCEL_TO_CSV"
+                OPERATION
         );
+        importLedgerService.recordResult(OPERATION, fingerprint, originalFileName, response);
+        return response;
     }
 
     /**
@@ -175,7 +194,7 @@ public class ExcelToCsvService {
                 csvFilePath.toAbsolutePath().toString(),
                 csvFileName,
                 recordsProcessed,
-                "EXCEL_TO_CSV"
+                OPERATION
         );
     }
 
@@ -0,0 +1,273 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.DataPathConfig;
+import com.studentpipeline.config.ExportCacheConfig;
+import com.studentpipeline.config.ReadRouting;
+import com.studentpipeline.model.StudentFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of rendered exports keyed by (format, filters, data version).
+ * Entries are evicted least-recently-used once the cache exceeds its size budget;
+ * a data version bump makes every older entry unreachable, and LRU reclaims it.
+ * Concurrent misses on the same key share a single render, which reads from the primary so a
+ * lagging read replica cannot be cached under the new data version.
+ */
+@Service
+public class ExportCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportCacheService.class);
+    private static final String CACHE_DIR = "export-cache";
+
+    @Autowired
+    private DataPathConfig dataPathConfig;
+
+    @Autowired
+    private ExportCacheConfig exportCacheConfig;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedExport> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Renders in progress, guarded by the entries lock
+    private final Map<String, CompletableFuture<CachedExport>> inFlight = new HashMap<>();
+    private long totalBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Entries are only tracked in memory, so files left by a previous run are removed
+     */
+    @PostConstruct
+    void clearCacheDir() throws IOException {
+        Path cacheDir = getCacheDir();
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return exportCacheConfig.isEnabled();
+    }
+
+    /**
+     * Get the ETag the export for these filters has at the current data version
+     */
+    public String getETag(String format, StudentFilter filter, boolean parallel) {
+        return toETag(cacheKey(format, filter, parallel, dataVersionService.getVersion()));
+    }
+
+    /**
+     * Get the cached export for these filters at the current data version, rendering it on a miss
+     */
+    public CachedExport getOrRender(String format, StudentFilter filter, boolean parallel) throws IOException {
+        String lowerFormat = format.toLowerCase();
+        String key = cacheKey(lowerFormat, filter, parallel, dataVersionService.getVersion());
+
+        CompletableFuture<CachedExport> render;
+        boolean rendering = false;
+        synchronized (entries) {
+            CachedExport cached = entries.get(key);
+            if (cached != null && Files.exists(cached.getFile())) {
+                hits++;
+                logger.info("Export cache hit for {} ({} bytes, hits: {}, misses: {})", lowerFormat, cached.getSize(), hits, misses);
+                return cached;
+            }
+            render = inFlight.get(key);
+            if (render == null) {
+                misses++;
+                render = new CompletableFuture<>();
+                inFlight.put(key, render);
+                rendering = true;
+            } else {
+                hits++;
+                logger.info("Export {} is being rendered by another request, waiting for it", key);
+            }
+        }
+
+        if (!rendering) {
+            return awaitRender(render);
+        }
+        try {
+            CachedExport export = render(lowerFormat, key, filter, parallel);
+            render.complete(export);
+            return export;
+        } catch (IOException | RuntimeException | Error e) {
+            // Waiting requests get the same failure instead of hanging
+            render.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (entries) {
+                inFlight.remove(key);
+            }
+        }
+    }
+
+    private CachedExport awaitRender(CompletableFuture<CachedExport> render) throws IOException {
+        try {
+            return render.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CachedExport render(String lowerFormat, String key, StudentFilter filter, boolean parallel)
+            throws IOException {
+        Path cacheDir = getCacheDir();
+        Files.createDirectories(cacheDir);
+        Path target = cacheDir.resolve(key + "." + exportService.getFileExtension(lowerFormat));
+        Path partial = Files.createTempFile(cacheDir, key, ".part");
+
+        long startTime = System.currentTimeMillis();
+        long rows;
+        try {
+            rows = ReadRouting.onPrimary(() -> exportService.writeExport(lowerFormat, partial, filter, parallel));
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        CachedExport export = new CachedExport(target, Files.size(target), rows, toETag(key));
+        logger.info("Export cache miss for {}: rendered {} rows ({} bytes) in {} ms",
+                   lowerFormat, rows, export.getSize(), System.currentTimeMillis() - startTime);
+
+        synchronized (entries) {
+            CachedExport previous = entries.put(key, export);
+            if (previous != null) {
+                totalBytes -= previous.getSize();
+            }
+            totalBytes += export.getSize();
+            evictIfNeeded(key);
+        }
+        return export;
+    }
+
+    /**
+     * Check whether an If-None-Match header value matches the given ETag
+     */
+    public boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evictIfNeeded(String keepKey) {
+        long maxBytes = exportCacheConfig.getMaxSizeMb() * 1024 * 1024;
+        Iterator<Map.Entry<String, CachedExport>> iterator = entries.entrySet().iterator();
+
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, CachedExport> eldest = iterator.next();
+            if (eldest.getKey().equals(keepKey)) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= eldest.getValue().getSize();
+            try {
+                Files.deleteIfExists(eldest.getValue().getFile());
+            } catch (IOException e) {
+                // May still be open for a download on platforms that lock open files
+                logger.warn("Could not delete evicted export {}: {}", eldest.getValue().getFile(), e.getMessage());
+            }
+            logger.debug("Evicted export {} from cache, {} bytes cached", eldest.getKey(), totalBytes);
+        }
+    }
+
+    private String cacheKey(String format, StudentFilter filter, boolean parallel, long dataVersion) {
+        String raw = format.toLowerCase() + "|" + filter + "|"
+                + (format.equalsIgnoreCase("pdf") && parallel) + "|" + dataVersion;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String toETag(String key) {
+        return "\"" + key + "\"";
+    }
+
+    private Path getCacheDir() {
+        return Paths.get(dataPathConfig.getBase()).resolve(CACHE_DIR);
+    }
+
+    /**
+     * A rendered export file held in the cache
+     */
+    public static class CachedExport {
+        private final Path file;
+        private final long size;
+        private final long rows;
+        private final String etag;
+
+        public CachedExport(Path file, long size, long rows, String etag) {
+            this.file = file;
+            this.size = size;
+            this.rows = rows;
+            this.etag = etag;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.DataPathConfig;
+import com.studentpipeline.config.ExportJobConfig;
+import com.studentpipeline.dto.ExportJobRequest;
+import com.studentpipeline.model.StudentFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service for rendering exports in the background to files under the data directory,
+ * so they can be downloaded (and resumed) later without re-running the query and render.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+    private static final String EXPORTS_DIR = "exports";
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    @Autowired
+    private DataPathConfig dataPathConfig;
+
+    @Autowired
+    private ExportJobConfig exportJobConfig;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private StudentReportService studentReportService;
+
+    @Autowired
+    private ProgressTracker progressTracker;
+
+    private final Map<String, String> downloadFileNames = new ConcurrentHashMap<>();
+    private final Set<String> runningExports = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Render the requested export to {base}/exports/{operationId}.{ext}, tracking progress.
+     * The file is written under a ".part" name and moved into place once complete, so a
+     * download never sees a half-written artifact.
+     */
+    public Path runExport(String operationId, ExportJobRequest request) throws IOException {
+        String format = request.getFormat().toLowerCase();
+        String extension = exportService.getFileExtension(format);
+        logger.info("Starting background export {} - {}", operationId, request);
+
+        StudentFilter filter = StudentFilter.builder()
+                .studentId(request.getStudentId())
+                .className(request.getClassName())
+                .scoreRange(request.getMinScore(), request.getMaxScore())
+                .dobRange(request.getDobFrom(), request.getDobTo())
+                .build();
+        long totalRecords = studentReportService.countStudentsWithFilters(filter);
+        progressTracker.startProgress(operationId, totalRecords);
+
+        Path exportsDir = getExportsDir();
+        Files.createDirectories(exportsDir);
+        Path target = exportsDir.resolve(operationId + "." + extension);
+        Path partial = exportsDir.resolve(operationId + "." + extension + PARTIAL_SUFFIX);
+
+        String downloadName = request.getFileName() != null ? request.getFileName() : "students_report." + extension;
+        if (!downloadName.endsWith("." + extension)) {
+            downloadName += "." + extension;
+        }
+        downloadFileNames.put(operationId, downloadName);
+        runningExports.add(operationId);
+
+        long startTime = System.currentTimeMillis();
+        String renderMessage = String.format("Rendering %,d records to %s...", totalRecords, format.toUpperCase());
+        long[] rendered = {0};
+        try {
+            progressTracker.updateProgress(operationId, 0, renderMessage);
+
+            // Parallel PDF chunks report concurrently; the lock keeps the published count increasing
+            long rows = exportService.writeExport(format, partial, filter, request.isParallel(), written -> {
+                synchronized (rendered) {
+                    rendered[0] += written;
+                    progressTracker.updateProgress(operationId, rendered[0], renderMessage);
+                }
+            });
+
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long totalTime = System.currentTimeMillis() - startTime;
+            String message = String.format("Completed: %,d records exported in %,d ms", rows, totalTime);
+            progressTracker.completeProgress(operationId, message);
+            logger.info("Background export {} completed: {} ({} bytes)", operationId, message, Files.size(target));
+            return target;
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            downloadFileNames.remove(operationId);
+            progressTracker.failProgress(operationId, "Export failed: " + e.getMessage());
+            throw e;
+        } finally {
+            runningExports.remove(operationId);
+        }
+    }
+
+    /**
+     * Delete export files older than export-jobs.ttl-minutes, along with their download name
+     * and progress entry. Partial files are only removed once no export is writing them.
+     */
+    @Scheduled(fixedDelayString = "${export-jobs.cleanup-interval-ms:600000}",
+            initialDelayString = "${export-jobs.cleanup-interval-ms:600000}")
+    public void removeExpiredExports() {
+        Path exportsDir = getExportsDir();
+        if (!Files.isDirectory(exportsDir)) {
+            return;
+        }
+
+        FileTime cutoff = FileTime.from(Instant.now().minus(Duration.ofMinutes(exportJobConfig.getTtlMinutes())));
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(exportsDir)) {
+            files = listing.collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.warn("Could not list exports directory {}: {}", exportsDir, e.getMessage());
+            return;
+        }
+
+        int removed = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            String operationId = name.substring(0, name.indexOf('.') < 0 ? name.length() : name.indexOf('.'));
+            if (runningExports.contains(operationId)) {
+                continue;
+            }
+            try {
+                if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && Files.deleteIfExists(file)) {
+                    downloadFileNames.remove(operationId);
+                    progressTracker.removeProgress(operationId);
+                    removed++;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not remove expired export {}: {}", file, e.getMessage());
+            }
+        }
+
+        if (removed > 0) {
+            logger.info("Removed {} expired export files", removed);
+        }
+    }
+
+    /**
+     * Find the finished export file for an operation, or null if none exists (yet)
+     */
+    public Path findExportFile(String operationId) throws IOException {
+        if (!isValidOperationId(operationId)) {
+            return null;
+        }
+
+        Path exportsDir = getExportsDir();
+        if (!Files.isDirectory(exportsDir)) {
+            return null;
+        }
+
+        // Resolved from disk rather than memory so artifacts stay downloadable across restarts
+        try (Stream<Path> files = Files.list(exportsDir)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(operationId + ".") && !name.endsWith(PARTIAL_SUFFIX);
+                    })
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Get the file name to offer for download
+     */
+    public String getDownloadFileName(String operationId, Path exportFile) {
+        String name = downloadFileNames.get(operationId);
+        if (name != null) {
+            return name;
+        }
+        String fileName = exportFile.getFileName().toString();
+        return "students_report" + fileName.substring(fileName.indexOf('.'));
+    }
+
+    public boolean isSupportedFormat(String format) {
+        if (format == null) return false;
+        String lowerFormat = format.toLowerCase();
+        return lowerFormat.equals("excel") || lowerFormat.equals("csv") || lowerFormat.equals("pdf")
+                || lowerFormat.equals("parquet");
+    }
+
+    private boolean isValidOperationId(String operationId) {
+        try {
+            UUID.fromString(operationId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Path getExportsDir() {
+        return Paths.get(dataPathConfig.getBase()).resolve(EXPORTS_DIR);
+    }
+}
@@ -1,15 +1,33 @@
 package com.studentpipeline.service;
 
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.itextpdf.layout.Canvas;
 import com.itextpdf.layout.Document;
 
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.opencsv.CSVWriter;
+import com.studentpipeline.config.AdmissionConfig;
+import com.studentpipeline.config.ReadRouting;
 import com.studentpipeline.dto.StudentDto;
-
+import com.studentpipeline.model.StudentFilter;
+import com.studentpipeline.util.StudentParquetMapper;
+
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalOutputFile;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataFormat;
 import org.apache.poi.ss.usermodel.Row;
@@ -17,23 +35,61 @@ import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
 
 @Service
 public class ExportService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+    private static final long PARQUET_ROW_GROUP_SIZE = 32L * 1024 * 1024; // Bounds writer memory per row group
+    private static final int PDF_FLUSH_INTERVAL = 500; // Rows laid out and released per large-table flush
+    private static final float[] PDF_COLUMN_WIDTHS = {5, 10, 15, 15, 12, 10, 8, 25};
+    private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int PROGRESS_INTERVAL = 10_000; // Rows between progress callbacks of a file export
+    private static final String[] CSV_HEADER = {"ID", "StudentID", "FirstName", "LastName", "DOB", "Class", "Score", "CreatedAt"};
+
+    @Autowired
+    private StudentReportService studentReportService;
+
+    @Autowired
+    private PipelineExecutor pipelineExecutor;
+
+    @Autowired
+    private AdmissionConfig admissionConfig;
+
+    @Value("${read-datasource.hikari.maximum-pool-size:10}")
+    private int readPoolSize;
 
     /**
      * Export students to Excel format
@@ -101,23 +157,11 @@ public class ExportService {
                      CSVWriter.DEFAULT_LINE_END)) {
 
             // Write header
-            String[] header = {"ID", "StudentID", "FirstName", "LastName", "DOB", "Class", "Score", "CreatedAt"};
-            csvWriter.writeNext(header);
+            csvWriter.writeNext(CSV_HEADER);
 
             // Write data rows
             for (StudentDto student : students) {
-                String[] row = {
-                        student.getId() != null ? student.getId().toString() : "",
-                        student.getStudentId().toString(),
-                        student.getFirstName(),
-                        student.getLastName(),
-                        student.getDob().format(DateTimeFormatter.ISO_LOCAL_DATE),
-                        student.getClassName(),
-                        student.getScore().toString(),
-                        student.getCreatedAt() != null ? 
-                            student.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : ""
-                };
-                csvWriter.writeNext(row);
+                csvWriter.writeNext(toCsvRow(student));
             }
 
             byte[] data = stringWriter.toString().getBytes();
@@ -139,69 +183,481 @@ public class ExportService {
     }
 
     /**
-     * Export students to PDF format
+     * Export students to PDF format.
+     * The document is streamed straight into the HTTP response: rows come from a DB cursor and
+     * the table runs in iText large-table mode, flushing laid-out rows every PDF_FLUSH_INTERVAL
+     * rows, so memory use stays flat regardless of the row count. Header rows repeat on each page.
+     */
+    public ResponseEntity<StreamingResponseBody> exportToPdf(StudentFilter filter, String fileName) {
+        logger.info("Exporting students to PDF - filter: {}", filter);
+
+        String finalFileName = fileName != null ? fileName : "students_report.pdf";
+        if (!finalFileName.endsWith(".pdf")) {
+            finalFileName += ".pdf";
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            long rows = writePdf(outputStream, filter, null);
+            logger.info("PDF export completed. {} rows streamed", rows);
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + finalFileName + "\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(body);
+    }
+
+    /**
+     * Export students to PDF, rendering row chunks in parallel.
+     * The matching rows are split into one chunk of (nearly) equal row count per render thread, all
+     * read from one exported database snapshot; each chunk is laid out into its own temporary PDF on
+     * the worker pool, and the chunks are merged in order with PdfMerger while page numbers
+     * ("Page x of n") are stamped across the merged document.
      */
-    public ResponseEntity<Resource> exportToPdf(List<StudentDto> students, String fileName) throws IOException {
-        logger.info("Exporting {} students to PDF", students.size());
+    public ResponseEntity<StreamingResponseBody> exportToPdfParallel(StudentFilter filter, String fileName) {
+        logger.info("Exporting students to PDF (parallel) - filter: {}", filter);
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
+        String finalFileName = fileName != null ? fileName : "students_report.pdf";
+        if (!finalFileName.endsWith(".pdf")) {
+            finalFileName += ".pdf";
+        }
 
-            // Add title
+        StreamingResponseBody body = outputStream -> {
+            long rows = writePdfParallel(outputStream, filter, null);
+            logger.info("Parallel PDF export completed. {} rows rendered", rows);
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + finalFileName + "\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(body);
+    }
+
+    /**
+     * Render the students report PDF for the given filters into the output stream.
+     * The stream is left open for the caller.
+     *
+     * @return number of student rows rendered
+     */
+    public long writePdf(OutputStream outputStream, StudentFilter filter, LongConsumer progress) throws IOException {
+        return writePdf(outputStream, true, true,
+                consumer -> studentReportService.streamStudentsWithFilters(filter, withProgress(progress, consumer)));
+    }
+
+    /**
+     * Render the students report PDF in parallel row chunks and merge them into the output stream.
+     * Chunk boundaries and rows come from a single database snapshot, so rows committed or deleted
+     * during the render cannot be duplicated, dropped or split inconsistently between chunks. The
+     * title and table header are emitted once, at the top of the first chunk, so the merged report
+     * reads as one table. The stream is left open for the caller.
+     *
+     * @return number of student rows rendered
+     */
+    public long writePdfParallel(OutputStream outputStream, StudentFilter filter, LongConsumer progress)
+            throws IOException {
+        try {
+            return studentReportService.withExportedSnapshot(snapshotId -> {
+                try {
+                    return writePdfChunks(outputStream, filter, snapshotId, progress);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Chunks of one parallel PDF: one per core, but no more than the read pool serves when every
+     * allowed export holds its snapshot connection and one connection per chunk at the same time
+     */
+    int getPdfChunkCount() {
+        int connectionsPerExport = readPoolSize / Math.max(1, admissionConfig.getMaxExports());
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), connectionsPerExport - 1));
+    }
+
+    private long writePdfChunks(OutputStream outputStream, StudentFilter filter, String snapshotId,
+                                LongConsumer progress) throws IOException {
+        List<Long> boundaries = studentReportService.getStudentIdBoundaries(filter, getPdfChunkCount());
+        if (boundaries.isEmpty()) {
+            return writePdf(outputStream, true, true, consumer -> 0L);
+        }
+
+        int chunkCount = boundaries.size();
+        logger.info("Rendering PDF in {} chunks of equal row count from snapshot {}", chunkCount, snapshotId);
+
+        List<Path> chunkFiles = new ArrayList<>();
+        List<CompletableFuture<Long>> chunkRows = new ArrayList<>();
+        try {
+            for (int i = 0; i < chunkCount; i++) {
+                Long from = boundaries.get(i);
+                Long to = i + 1 < chunkCount ? boundaries.get(i + 1) - 1 : null;
+                boolean firstChunk = i == 0;
+                Path chunkFile = Files.createTempFile("students-pdf-chunk-" + i + "-", ".pdf");
+                chunkFiles.add(chunkFile);
+
+                // Chunks must read from the server that exported the snapshot
+                Callable<Long> renderChunk = ReadRouting.propagate(() -> {
+                    try (OutputStream chunkOut = Files.newOutputStream(chunkFile)) {
+                        return writePdf(chunkOut, firstChunk, false,
+                                consumer -> studentReportService.streamStudentsWithFilters(filter, from, to,
+                                        snapshotId, withProgress(progress, consumer)));
+                    }
+                });
+                chunkRows.add(pipelineExecutor.supplyAsync(() -> {
+                    try {
+                        return renderChunk.call();
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }));
+            }
+
+            long totalRows = 0;
+            for (CompletableFuture<Long> chunk : chunkRows) {
+                totalRows += awaitChunk(chunk);
+            }
+
+            mergePdfChunks(outputStream, chunkFiles);
+            return totalRows;
+        } finally {
+            chunkRows.forEach(future -> future.cancel(true));
+            for (Path chunkFile : chunkFiles) {
+                Files.deleteIfExists(chunkFile);
+            }
+        }
+    }
+
+    /**
+     * Lay out a students table from the given row source. With includeHeading the title and header
+     * row are added; repeatHeader makes the header repeat on every page instead of appearing once.
+     */
+    private long writePdf(OutputStream outputStream, boolean includeHeading, boolean repeatHeader,
+                          ToLongFunction<Consumer<StudentDto>> rowSource) throws IOException {
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false);
+        PdfDocument pdfDoc = new PdfDocument(writer);
+        Document document = new Document(pdfDoc);
+
+        // Add title
+        if (includeHeading) {
             Paragraph title = new Paragraph("Students Report")
                     .setFontSize(20)
                     .setBold();
             document.add(title);
+        }
 
-            // Create table with 7 columns
-            Table table = new Table(UnitValue.createPercentArray(new float[]{5, 10, 15, 15, 12, 10, 8, 25}));
-            table.setWidth(UnitValue.createPercentValue(100));
-
-            // Add header cells
-            table.addHeaderCell(new com.itextpdf.layout.element.Cell().add(new Paragraph("ID").setBold()));
-            table.addHeaderCell(new com.itextpdf.layout.element.Cell().add(new Paragraph("Student ID").setBold()));
-            table.addHeaderCell(new com.itextpdf.layout.element.Cell().add(new Paragraph("First Name").setBold()));
-            table.addHeaderCell(new com.itextpdf.layout.element.Cell().add(new Paragraph("Last Name").setBold()));
-            table.addHeaderCell(new com.itextpdf.layout.element.Cell().add(new Paragraph("DOB").setBold()));
-            table.addHeaderCell(new com.itextpdf.layout.element.Cell().add(new Paragraph("Class").setBold()));
-            table.addHeaderCell(new com.itextpdf.layout.element.Cell().add(new Paragraph("Score").setBold()));
-            table.addHeaderCell(new com.itextpdf.layout.element.Cell().add(new Paragraph("Created At").setBold()));
-
-            // Add data rows
-            for (StudentDto student : students) {
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getId() != null ? student.getId().toString() : "")));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getStudentId().toString())));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getFirstName())));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getLastName())));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getDob().format(DateTimeFormatter.ISO_LOCAL_DATE))));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getClassName())));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getScore().toString())));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(
-                        student.getCreatedAt() != null ? 
-                            student.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : "")));
+        // Large table: must be added to the document before its rows, then flushed incrementally
+        Table table = new Table(UnitValue.createPercentArray(PDF_COLUMN_WIDTHS), true);
+        table.setWidth(UnitValue.createPercentValue(100));
+        if (includeHeading) {
+            addPdfHeaderCells(table, repeatHeader);
+        }
+        document.add(table);
+
+        long[] rows = {0};
+        rowSource.applyAsLong(student -> {
+            addPdfDataRow(table, student);
+            if (++rows[0] % PDF_FLUSH_INTERVAL == 0) {
+                table.flush();
             }
+        });
 
-            document.add(table);
-            document.close();
+        table.complete();
+        document.close();
+        return rows[0];
+    }
 
-            byte[] data = outputStream.toByteArray();
-            ByteArrayResource resource = new ByteArrayResource(data);
+    private long awaitChunk(CompletableFuture<Long> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF rendering interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render PDF chunk: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Merge chunk PDFs in order, stamping continuous page numbers and flushing each merged
+     * page so only one chunk's pages are held in memory at a time.
+     */
+    private void mergePdfChunks(OutputStream outputStream, List<Path> chunkFiles) throws IOException {
+        int totalPages = 0;
+        for (Path chunkFile : chunkFiles) {
+            try (PdfDocument chunk = new PdfDocument(new PdfReader(chunkFile.toFile()))) {
+                totalPages += chunk.getNumberOfPages();
+            }
+        }
+
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false);
+        PdfDocument merged = new PdfDocument(writer);
+        PdfMerger merger = new PdfMerger(merged);
 
-            String finalFileName = fileName != null ? fileName : "students_report.pdf";
-            if (!finalFileName.endsWith(".pdf")) {
-                finalFileName += ".pdf";
+        int stampedPages = 0;
+        for (Path chunkFile : chunkFiles) {
+            try (PdfDocument chunk = new PdfDocument(new PdfReader(chunkFile.toFile()))) {
+                merger.merge(chunk, 1, chunk.getNumberOfPages());
             }
 
-            logger.info("PDF export completed. File size: {} bytes", data.length);
+            for (int pageNum = stampedPages + 1; pageNum <= merged.getNumberOfPages(); pageNum++) {
+                PdfPage page = merged.getPage(pageNum);
+                Rectangle pageSize = page.getPageSize();
+                try (Canvas canvas = new Canvas(new PdfCanvas(page), pageSize)) {
+                    canvas.showTextAligned(new Paragraph("Page " + pageNum + " of " + totalPages).setFontSize(8),
+                            pageSize.getWidth() / 2, 20, TextAlignment.CENTER);
+                }
+                page.flush();
+            }
+            stampedPages = merged.getNumberOfPages();
+        }
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + finalFileName + "\"")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .contentLength(data.length)
-                    .body(resource);
+        merged.close();
+    }
+
+    /**
+     * Export students to Parquet format.
+     * Rows are streamed from a DB cursor straight into the Parquet writer, which only buffers
+     * the current row group; names and class are dictionary encoded, ids are left plain.
+     */
+    public ResponseEntity<Resource> exportToParquet(StudentFilter filter, String fileName) throws IOException {
+        logger.info("Exporting students to Parquet - filter: {}", filter);
+
+        Path tempFile = Files.createTempFile("students-export-", ".parquet");
+        long written;
+
+        try {
+            written = writeParquet(tempFile, filter, null);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
         }
+
+        long size = Files.size(tempFile);
+        // The temp file is removed once the response body stream has been fully written and closed
+        InputStreamResource resource = new InputStreamResource(
+                Files.newInputStream(tempFile, StandardOpenOption.DELETE_ON_CLOSE));
+
+        String finalFileName = fileName != null ? fileName : "students_report.parquet";
+        if (!finalFileName.endsWith(".parquet")) {
+            finalFileName += ".parquet";
+        }
+
+        logger.info("Parquet export completed. {} rows, file size: {} bytes", written, size);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + finalFileName + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .body(resource);
+    }
+
+    /**
+     * Write the Excel report for the given filters, streaming rows from a DB cursor into
+     * an SXSSF workbook. The stream is left open for the caller.
+     *
+     * @return number of student rows written
+     */
+    public long writeExcel(OutputStream outputStream, StudentFilter filter, LongConsumer progress) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000)) {
+            SXSSFSheet sheet = workbook.createSheet("Students Report");
+
+            // Create date format for DOB column
+            CellStyle dateStyle = workbook.createCellStyle();
+            DataFormat dataFormat = workbook.createDataFormat();
+            dateStyle.setDataFormat(dataFormat.getFormat("yyyy-mm-dd"));
+
+            // Widths are tracked as rows are flushed, since flushed rows cannot be measured later
+            sheet.trackAllColumnsForAutoSizing();
+            createExcelHeaderRow(sheet);
+
+            int[] rowNum = {1};
+            long rows = studentReportService.streamStudentsWithFilters(filter,
+                    withProgress(progress, student -> createExcelDataRow(sheet, rowNum[0]++, student, dateStyle)));
+
+            for (int i = 0; i < 8; i++) {
+                sheet.autoSizeColumn(i);
+            }
+
+            workbook.write(outputStream);
+            workbook.dispose();
+            return rows;
+        }
+    }
+
+    /**
+     * Write the CSV report for the given filters, streaming rows from a DB cursor.
+     * The stream is flushed but left open for the caller.
+     *
+     * @return number of student rows written
+     */
+    public long writeCsv(OutputStream outputStream, StudentFilter filter, LongConsumer progress) throws IOException {
+        CSVWriter csvWriter = new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                CSVWriter.DEFAULT_SEPARATOR,
+                CSVWriter.NO_QUOTE_CHARACTER,
+                CSVWriter.DEFAULT_ESCAPE_CHARACTER,
+                CSVWriter.DEFAULT_LINE_END);
+
+        csvWriter.writeNext(CSV_HEADER);
+        long rows = studentReportService.streamStudentsWithFilters(filter,
+                withProgress(progress, student -> csvWriter.writeNext(toCsvRow(student))));
+        csvWriter.flush();
+        return rows;
+    }
+
+    /**
+     * Write the Parquet file for the given filters, streaming rows from a DB cursor into the
+     * Parquet writer, which only buffers the current row group.
+     *
+     * @return number of student rows written
+     */
+    public long writeParquet(Path target, StudentFilter filter, LongConsumer progress) throws IOException {
+        SimpleGroupFactory groupFactory = new SimpleGroupFactory(StudentParquetMapper.SCHEMA);
+
+        try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(target))
+                .withType(StudentParquetMapper.SCHEMA)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .withCompressionCodec(CompressionCodecName.SNAPPY)
+                .withRowGroupSize(PARQUET_ROW_GROUP_SIZE)
+                .withDictionaryEncoding(true)
+                .withDictionaryEncoding("id", false)
+                .withDictionaryEncoding("student_id", false)
+                .build()) {
+
+            return studentReportService.streamStudentsWithFilters(filter, withProgress(progress, student -> {
+                try {
+                    writer.write(StudentParquetMapper.toGroup(groupFactory, student));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Write an export of the given format to the target file
+     *
+     * @return number of student rows written
+     */
+    public long writeExport(String format, Path target, StudentFilter filter, boolean parallel) throws IOException {
+        return writeExport(format, target, filter, parallel, null);
+    }
+
+    /**
+     * Write an export of the given format to the target file, telling progress how many rows were
+     * written since its previous call every PROGRESS_INTERVAL rows. Parallel PDF chunks report
+     * concurrently, so progress must be thread-safe.
+     *
+     * @return number of student rows written
+     */
+    public long writeExport(String format, Path target, StudentFilter filter, boolean parallel,
+                            LongConsumer progress) throws IOException {
+        String lowerFormat = format.toLowerCase();
+        if (lowerFormat.equals("parquet")) {
+            return writeParquet(target, filter, progress);
+        }
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+            switch (lowerFormat) {
+                case "excel":
+                    return writeExcel(out, filter, progress);
+                case "csv":
+                    return writeCsv(out, filter, progress);
+                case "pdf":
+                    return parallel
+                            ? writePdfParallel(out, filter, progress)
+                            : writePdf(out, filter, progress);
+                default:
+                    throw new IllegalArgumentException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+    private static Consumer<StudentDto> withProgress(LongConsumer progress, Consumer<StudentDto> consumer) {
+        if (progress == null) {
+            return consumer;
+        }
+        long[] rows = {0};
+        return student -> {
+            consumer.accept(student);
+            if (++rows[0] % PROGRESS_INTERVAL == 0) {
+                progress.accept(PROGRESS_INTERVAL);
+            }
+        };
+    }
+
+    /**
+     * Get the file extension for an export format
+     */
+    public String getFileExtension(String format) {
+        switch (format.toLowerCase()) {
+            case "excel":
+                return "xlsx";
+            case "csv":
+                return "csv";
+            case "pdf":
+                return "pdf";
+            case "parquet":
+                return "parquet";
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Get the response content type for an export format
+     */
+    public MediaType getMediaType(String format) {
+        switch (format.toLowerCase()) {
+            case "csv":
+                return MediaType.TEXT_PLAIN;
+            case "pdf":
+                return MediaType.APPLICATION_PDF;
+            default:
+                return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private String[] toCsvRow(StudentDto student) {
+        return new String[]{
+                student.getId() != null ? student.getId().toString() : "",
+                student.getStudentId().toString(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getDob().format(DateTimeFormatter.ISO_LOCAL_DATE),
+                student.getClassName(),
+                student.getScore().toString(),
+                student.getCreatedAt() != null ? student.getCreatedAt().format(CREATED_AT_FORMAT) : ""
+        };
+    }
+
+    private void addPdfHeaderCells(Table table, boolean repeat) {
+        for (String header : new String[]{"ID", "Student ID", "First Name", "Last Name", "DOB", "Class", "Score", "Created At"}) {
+            com.itextpdf.layout.element.Cell cell = new com.itextpdf.layout.element.Cell().add(new Paragraph(header).setBold());
+            if (repeat) {
+                table.addHeaderCell(cell);
+            } else {
+                table.addCell(cell);
+            }
+        }
+    }
+
+    private void addPdfDataRow(Table table, StudentDto student) {
+        table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getId() != null ? student.getId().toString() : "")));
+        table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getStudentId().toString())));
+        table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getFirstName())));
+        table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getLastName())));
+        table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getDob().format(DateTimeFormatter.ISO_LOCAL_DATE))));
+        table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getClassName())));
+        table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(student.getScore().toString())));
+        table.addCell(new com.itextpdf.layout.element.Cell().add(new Paragraph(
+                student.getCreatedAt() != null ?
+                    student.getCreatedAt().format(CREATED_AT_FORMAT) : "")));
     }
 
     private void createExcelHeaderRow(SXSSFSheet sheet) {
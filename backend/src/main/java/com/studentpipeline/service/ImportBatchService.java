@@ -0,0 +1,386 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.ImportBatchConfig;
+import com.studentpipeline.entity.ImportBatch;
+import com.studentpipeline.event.StudentDataChangedEvent;
+import com.studentpipeline.exception.BusinessException;
+import com.studentpipeline.repository.ImportBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Manages import batches: every upload is loaded into its own table student_batch_{id}, which is
+ * attached to the partitioned student table once the load is complete. The secondary indexes of
+ * the partition are built once at attach time instead of being maintained row by row, and rolling
+ * an upload back is a detach and drop of its partition.
+ * <p>
+ * Once there are more than import-batch.max-partitions partitions, the oldest are folded into a
+ * single archive partition, so planning and student ID lookups do not grow with the upload count.
+ * <p>
+ * When the student table is not partitioned (e.g. created by Hibernate rather than init.sql)
+ * the same flow is used, but attaching copies the rows over and rollback deletes them.
+ */
+@Service
+public class ImportBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportBatchService.class);
+    private static final String PARTITION_PREFIX = "student_batch_";
+    private static final String ARCHIVE_TABLE = "student_batch_archive";
+    private static final Pattern BATCH_ID = Pattern.compile("\\d+");
+    private static final long ATTACH_LOCK_KEY = 0x53545544454e54L; // "STUDENT"
+
+    private static final String STUDENT_COLUMNS =
+            "student_id, first_name, last_name, dob, class_name, score, created_at, import_batch_id, row_hash";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private ClassSummaryService classSummaryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ImportBatchConfig importBatchConfig;
+
+    private volatile Boolean partitioned;
+
+    /**
+     * Whether the student table is declaratively partitioned
+     */
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+                    "WHERE c.relname = 'student')", Boolean.class));
+            logger.info("Student table is {}partitioned by import batch", partitioned ? "" : "not ");
+        }
+        return partitioned;
+    }
+
+    /**
+     * Register a new batch and create the (still detached) table its rows are loaded into
+     *
+     * @return the batch id
+     */
+    @Transactional
+    public long createBatch(String fileName, String operation) {
+        ImportBatch batch = importBatchRepository.saveAndFlush(new ImportBatch(fileName, operation));
+        long batchId = batch.getId();
+        String table = getPartitionTable(batchId);
+
+        // Logged: an UNLOGGED table would have to be rewritten into the WAL by SET LOGGED before
+        // attaching, which costs the WAL it saved during the load
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE student INCLUDING DEFAULTS INCLUDING IDENTITY)");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN import_batch_id SET DEFAULT " + batchId);
+        // Lets ATTACH PARTITION skip its validation scan
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + table + "_batch_check " +
+                "CHECK (import_batch_id = " + batchId + ")");
+        // Matches the partitioned (student_id, import_batch_id) unique index, so the attach reuses it
+        jdbcTemplate.execute("CREATE UNIQUE INDEX " + table + "_student_id_key ON " + table +
+                " (student_id, import_batch_id)");
+
+        logger.info("Created import batch {} for {} ({})", batchId, fileName, operation);
+        return batchId;
+    }
+
+    /**
+     * Get the INSERT statement that loads a row into the batch table. A student ID repeated within
+     * the batch keeps its last row when lastRowWins is set (rows must then be loaded in file order)
+     * and its first row otherwise; duplicates of existing students are removed on attach.
+     */
+    public String getInsertSql(long batchId, boolean lastRowWins) {
+        return "INSERT INTO " + getPartitionTable(batchId) +
+               " (student_id, first_name, last_name, dob, class_name, score, created_at, row_hash) " +
+               "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (student_id, import_batch_id) " +
+               (lastRowWins
+                       ? "DO UPDATE SET first_name = EXCLUDED.first_name, last_name = EXCLUDED.last_name, " +
+                         "dob = EXCLUDED.dob, class_name = EXCLUDED.class_name, score = EXCLUDED.score, " +
+                         "created_at = EXCLUDED.created_at, row_hash = EXCLUDED.row_hash"
+                       : "DO NOTHING");
+    }
+
+    /**
+     * Upsert mode: overwrite existing students with the batch's rows where the content differs.
+     * A partitioned student table has no unique index on student_id alone, so this is the
+     * "ON CONFLICT (student_id) DO UPDATE ... WHERE row_hash differs" of an upsert written as an
+     * UPDATE ... FROM the batch table. Unchanged rows are not written at all; the rows of existing
+     * students are then dropped from the batch by {@link #attachBatch}. Must run in the
+     * transaction that attaches the batch.
+     *
+     * @return class summary of the replaced rows (one per updated student), whose classes
+     *         the updated students may have left
+     */
+    @Transactional
+    public ClassSummaryService.BatchSummary updateExisting(long batchId) {
+        long startTime = System.currentTimeMillis();
+        String table = getPartitionTable(batchId);
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + ATTACH_LOCK_KEY + ")");
+
+        String changed = " FROM student s JOIN " + table + " b ON b.student_id = s.student_id " +
+                "WHERE s.row_hash IS DISTINCT FROM b.row_hash) changed";
+        ClassSummaryService.BatchSummary before =
+                classSummaryService.summarize("(SELECT s.class_name, s.score" + changed);
+        ClassSummaryService.BatchSummary after =
+                classSummaryService.summarize("(SELECT b.class_name, b.score" + changed);
+
+        int updated = jdbcTemplate.update("UPDATE student s SET first_name = b.first_name, last_name = b.last_name, " +
+                "dob = b.dob, class_name = b.class_name, score = b.score, row_hash = b.row_hash " +
+                "FROM " + table + " b WHERE s.student_id = b.student_id AND s.row_hash IS DISTINCT FROM b.row_hash");
+
+        // New values first, so removing the old ones re-reads min/max only where an old extreme left
+        classSummaryService.applyInserts(after);
+        classSummaryService.applyRemovals(before);
+
+        logger.info("Import batch {} updated {} existing students in {} ms",
+                   batchId, updated, System.currentTimeMillis() - startTime);
+        return before;
+    }
+
+    /**
+     * Make a loaded batch visible: drop rows whose student ID already exists, add the batch
+     * to the class summary and attach its table as a partition.
+     *
+     * @return number of rows the batch contributed
+     */
+    @Transactional
+    public long attachBatch(long batchId) {
+        long startTime = System.currentTimeMillis();
+        String table = getPartitionTable(batchId);
+
+        // Serialises attaches, so two uploads can never both claim the same student ID
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + ATTACH_LOCK_KEY + ")");
+        tuneIndexBuilds();
+
+        int duplicates = jdbcTemplate.update("DELETE FROM " + table + " b USING student s " +
+                "WHERE s.student_id = b.student_id");
+
+        ClassSummaryService.BatchSummary summary = classSummaryService.summarize(table);
+        long existingRows = classSummaryService.getTotalCount();
+        classSummaryService.applyInserts(summary);
+
+        if (isPartitioned()) {
+            // Builds the partition's secondary indexes, each once and in parallel workers
+            jdbcTemplate.execute("ALTER TABLE student ATTACH PARTITION " + table + " FOR VALUES IN (" + batchId + ")");
+        } else {
+            copyIntoStudent(table, summary.getTotalCount() > existingRows);
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+
+        long rows = summary.getTotalCount();
+        ImportBatch batch = getBatch(batchId);
+        batch.setRecordCount(rows);
+        batch.setAttachedAt(LocalDateTime.now());
+        importBatchRepository.save(batch);
+
+        logger.info("Attached import batch {}: {} rows ({} duplicates dropped) in {} ms",
+                   batchId, rows, duplicates, System.currentTimeMillis() - startTime);
+        return rows;
+    }
+
+    /**
+     * Drop the table of a batch that failed to load
+     */
+    @Transactional
+    public void discardBatch(long batchId) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + getPartitionTable(batchId));
+        importBatchRepository.deleteById(batchId);
+        logger.info("Discarded import batch {}", batchId);
+    }
+
+    /**
+     * Roll back an attached batch by detaching and dropping its partition, or by deleting its rows
+     * once the batch has been folded into the archive partition
+     *
+     * @return number of rows removed
+     */
+    @Transactional
+    public long rollbackBatch(long batchId) {
+        ImportBatch batch = getBatch(batchId);
+        if (batch.getAttachedAt() == null) {
+            throw new BusinessException("Import batch " + batchId + " is still loading", HttpStatus.CONFLICT);
+        }
+
+        long startTime = System.currentTimeMillis();
+        String table = getPartitionTable(batchId);
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + ATTACH_LOCK_KEY + ")");
+
+        // Only the batch's partition is scanned, thanks to partition pruning
+        ClassSummaryService.BatchSummary removed =
+                classSummaryService.summarize("student WHERE import_batch_id = ?", batchId);
+
+        if (isPartitioned() && tableExists(table)) {
+            jdbcTemplate.execute("ALTER TABLE student DETACH PARTITION " + table);
+            jdbcTemplate.execute("DROP TABLE " + table);
+        } else {
+            jdbcTemplate.update("DELETE FROM student WHERE import_batch_id = ?", batchId);
+        }
+
+        classSummaryService.applyRemovals(removed);
+        importBatchRepository.delete(batch);
+
+        eventPublisher.publishEvent(new StudentDataChangedEvent(
+                StudentDataChangedEvent.ChangeType.DELETE, null, new HashSet<>(removed.getClassNames())));
+
+        long rows = removed.getTotalCount();
+        logger.info("Rolled back import batch {}: {} rows removed in {} ms",
+                   batchId, rows, System.currentTimeMillis() - startTime);
+        return rows;
+    }
+
+    /**
+     * Fold the oldest batch partitions into the archive partition once there are more than
+     * import-batch.max-partitions, keeping the newest half as partitions of their own. The archive
+     * is detached, receives the rows of the folded partitions and is attached again with the
+     * extended value list; its indexes are kept, so only the folded rows are indexed. Rows keep
+     * their id and import_batch_id. Reads of student wait for the fold, which holds its lock.
+     *
+     * @return number of partitions folded
+     */
+    @Scheduled(cron = "${import-batch.fold-cron:0 30 2 * * *}")
+    @Transactional
+    public int foldBatches() {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + ATTACH_LOCK_KEY + ")");
+
+        List<Long> batchIds = new ArrayList<>();
+        List<Long> archivedIds = new ArrayList<>();
+        jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'student'::regclass", rs -> {
+            if (ARCHIVE_TABLE.equals(rs.getString("relname"))) {
+                archivedIds.addAll(parseBatchIds(rs.getString("bound")));
+            } else {
+                batchIds.addAll(parseBatchIds(rs.getString("bound")));
+            }
+        });
+
+        int partitions = batchIds.size() + (archivedIds.isEmpty() ? 0 : 1);
+        if (partitions <= importBatchConfig.getMaxPartitions()) {
+            return 0;
+        }
+        long startTime = System.currentTimeMillis();
+        Collections.sort(batchIds);
+        List<Long> folded = batchIds.subList(0, batchIds.size() - importBatchConfig.getMaxPartitions() / 2);
+        tuneIndexBuilds();
+
+        if (archivedIds.isEmpty()) {
+            jdbcTemplate.execute("CREATE TABLE " + ARCHIVE_TABLE + " (LIKE student INCLUDING DEFAULTS INCLUDING IDENTITY)");
+            jdbcTemplate.execute("CREATE UNIQUE INDEX " + ARCHIVE_TABLE + "_student_id_key ON " + ARCHIVE_TABLE +
+                    " (student_id, import_batch_id)");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE student DETACH PARTITION " + ARCHIVE_TABLE);
+            jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " DROP CONSTRAINT IF EXISTS " +
+                    ARCHIVE_TABLE + "_batch_check");
+        }
+
+        for (Long batchId : folded) {
+            String table = getPartitionTable(batchId);
+            jdbcTemplate.execute("ALTER TABLE student DETACH PARTITION " + table);
+            jdbcTemplate.update("INSERT INTO " + ARCHIVE_TABLE + " (id, " + STUDENT_COLUMNS + ") " +
+                    "SELECT id, " + STUDENT_COLUMNS + " FROM " + table);
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+
+        archivedIds.addAll(folded);
+        String values = archivedIds.stream().map(String::valueOf).collect(Collectors.joining(", "));
+        // Lets ATTACH PARTITION skip its validation scan, as for a new batch
+        jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " ADD CONSTRAINT " + ARCHIVE_TABLE + "_batch_check " +
+                "CHECK (import_batch_id IN (" + values + "))");
+        jdbcTemplate.execute("ALTER TABLE student ATTACH PARTITION " + ARCHIVE_TABLE + " FOR VALUES IN (" + values + ")");
+
+        logger.info("Folded {} import batch partitions into {} ({} batches archived) in {} ms",
+                   folded.size(), ARCHIVE_TABLE, archivedIds.size(), System.currentTimeMillis() - startTime);
+        return folded.size();
+    }
+
+    /**
+     * Get all import batches, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<ImportBatch> getBatches() {
+        return importBatchRepository.findAllByOrderByIdDesc();
+    }
+
+    /**
+     * Give index builds in this transaction more sort memory and parallel workers
+     */
+    private void tuneIndexBuilds() {
+        jdbcTemplate.queryForObject("SELECT set_config('maintenance_work_mem', ?, true)", String.class,
+                importBatchConfig.getMaintenanceWorkMem());
+        jdbcTemplate.queryForObject("SELECT set_config('max_parallel_maintenance_workers', ?, true)", String.class,
+                String.valueOf(importBatchConfig.getParallelMaintenanceWorkers()));
+    }
+
+    /**
+     * Copy a batch into the unpartitioned student table. When the batch is larger than the table
+     * (a first load), the secondary indexes are dropped and rebuilt after the copy instead of being
+     * maintained row by row; this locks the table against reads until the upload commits.
+     */
+    private void copyIntoStudent(String table, boolean rebuildIndexes) {
+        List<Map<String, Object>> indexes = rebuildIndexes ? jdbcTemplate.queryForList(
+                "SELECT i.relname AS name, pg_get_indexdef(i.oid) AS definition FROM pg_index x " +
+                "JOIN pg_class i ON i.oid = x.indexrelid " +
+                "WHERE x.indrelid = 'student'::regclass AND NOT x.indisprimary AND NOT x.indisunique") : List.of();
+        for (Map<String, Object> index : indexes) {
+            jdbcTemplate.execute("DROP INDEX " + index.get("name"));
+        }
+
+        jdbcTemplate.update("INSERT INTO student (" + STUDENT_COLUMNS + ") SELECT " + STUDENT_COLUMNS + " FROM " + table);
+
+        for (Map<String, Object> index : indexes) {
+            jdbcTemplate.execute((String) index.get("definition"));
+        }
+        if (!indexes.isEmpty()) {
+            logger.info("Rebuilt {} student indexes after a bulk copy", indexes.size());
+        }
+    }
+
+    private ImportBatch getBatch(long batchId) {
+        return importBatchRepository.findById(batchId)
+                .orElseThrow(() -> new BusinessException("Import batch not found: " + batchId, HttpStatus.NOT_FOUND));
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    /**
+     * Batch ids of a partition bound such as FOR VALUES IN ('3', '7')
+     */
+    private List<Long> parseBatchIds(String bound) {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = BATCH_ID.matcher(bound);
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group()));
+        }
+        return ids;
+    }
+
+    private String getPartitionTable(long batchId) {
+        return PARTITION_PREFIX + batchId;
+    }
+}
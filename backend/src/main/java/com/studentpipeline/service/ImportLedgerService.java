@@ -0,0 +1,119 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.dto.FileOperationResponse;
+import com.studentpipeline.entity.ImportLedgerEntry;
+import com.studentpipeline.repository.ImportBatchRepository;
+import com.studentpipeline.repository.ImportLedgerRepository;
+import com.studentpipeline.util.FileFingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Ledger of processed files by content fingerprint. A resubmitted file is answered from the
+ * recorded result as long as that result still exists: the upload's import batch is still
+ * attached, or the converted file is still on disk unchanged.
+ */
+@Service
+public class ImportLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportLedgerService.class);
+
+    @Autowired
+    private ImportLedgerRepository importLedgerRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    /**
+     * Fingerprint a submitted file in one streaming pass, without parsing it
+     */
+    public FileFingerprint fingerprint(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return FileFingerprint.of(in);
+        }
+    }
+
+    /**
+     * Get the recorded result of an identical earlier submission, marked as a duplicate
+     */
+    @Transactional
+    public Optional<FileOperationResponse> findResult(String operation, FileFingerprint fingerprint) {
+        Optional<ImportLedgerEntry> found = importLedgerRepository.findFirstByFingerprintAndFileSizeAndOperationOrderByIdDesc(
+                fingerprint.getSha256(), fingerprint.getSize(), operation);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ImportLedgerEntry entry = found.get();
+        if (!isCurrent(entry)) {
+            logger.info("Ledger entry {} for {} is stale, processing the file again", entry.getId(), fingerprint);
+            importLedgerRepository.delete(entry);
+            return Optional.empty();
+        }
+
+        FileOperationResponse response = new FileOperationResponse(
+                entry.getResultPath(), entry.getResultName(), entry.getRecordsProcessed(), operation);
+        response.setImportBatchId(entry.getImportBatchId());
+        response.setDuplicate(true);
+        logger.info("File {} ({}) was already processed on {}, returning the recorded result",
+                   entry.getFileName(), fingerprint, entry.getCreatedAt());
+        return Optional.of(response);
+    }
+
+    /**
+     * Record the result of processing a file. Joins the caller's transaction, so an upload's
+     * entry only becomes visible if its import batch commits.
+     */
+    @Transactional
+    public void recordResult(String operation, FileFingerprint fingerprint, String fileName,
+                             FileOperationResponse response) {
+        ImportLedgerEntry entry = new ImportLedgerEntry(operation, fingerprint.getSha256(), fingerprint.getSize(), fileName);
+        entry.setImportBatchId(response.getImportBatchId());
+        entry.setResultPath(response.getPath());
+        entry.setResultName(response.getFileName());
+        entry.setRecordsProcessed(response.getRecordsProcessed());
+
+        if (response.getImportBatchId() == null) {
+            try {
+                Path result = Paths.get(response.getPath());
+                entry.setResultSize(Files.size(result));
+                entry.setResultModifiedAt(Files.getLastModifiedTime(result).toMillis());
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Not recording {} in the import ledger, cannot read result {}: {}",
+                           fileName, response.getPath(), e.getMessage());
+                return;
+            }
+        }
+
+        importLedgerRepository.save(entry);
+    }
+
+    private boolean isCurrent(ImportLedgerEntry entry) {
+        if (entry.getImportBatchId() != null) {
+            // Rolling the upload back deletes its batch
+            return importBatchRepository.findById(entry.getImportBatchId())
+                    .map(batch -> batch.getAttachedAt() != null)
+                    .orElse(false);
+        }
+
+        try {
+            Path result = Paths.get(entry.getResultPath());
+            return Files.isRegularFile(result)
+                    && Files.size(result) == entry.getResultSize()
+                    && Files.getLastModifiedTime(result).toMillis() == entry.getResultModifiedAt();
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+}
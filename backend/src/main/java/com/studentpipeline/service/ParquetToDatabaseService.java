@@ -0,0 +1,256 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.dto.FileOperationResponse;
+import com.studentpipeline.dto.StudentDto;
+import com.studentpipeline.event.StudentDataChangedEvent;
+import com.studentpipeline.util.FileFingerprint;
+import com.studentpipeline.util.StudentParquetMapper;
+import com.studentpipeline.util.StudentRowHash;
+import jakarta.annotation.PostConstruct;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InvalidRecordException;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads Parquet files produced by the Parquet export (or any file with the same schema)
+ * into the student table. Scores are stored as-is: Parquet is an exchange format for
+ * database rows, not a pipeline stage, so no score adjustment is applied.
+ */
+@Service
+public class ParquetToDatabaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParquetToDatabaseService.class);
+    private static final String OPERATION = "PARQUET_TO_DATABASE";
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ImportBatchService importBatchService;
+
+    @Autowired
+    private ImportLedgerService importLedgerService;
+
+    @Autowired
+    private PipelineExecutor pipelineExecutor;
+
+    @Autowired
+    private AdaptiveBatchWriter batchWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate batchTransaction;
+
+    @PostConstruct
+    void init() {
+        batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Upload Parquet file and save students to database, loading row groups in parallel
+     *
+     * @param force when false, a file identical to an earlier, still attached upload returns
+     *              that upload's result without being loaded
+     */
+    public FileOperationResponse uploadParquetToDatabase(MultipartFile file, boolean force) throws IOException {
+        logger.info("Starting Parquet to Database upload for file: {}", file.getOriginalFilename());
+
+        Path tempFile = Files.createTempFile("students-import-", ".parquet");
+        long startTime = System.currentTimeMillis();
+
+        try {
+            // The copy to disk has to read the whole file anyway, so it computes the fingerprint too
+            FileFingerprint fingerprint;
+            try (InputStream in = file.getInputStream()) {
+                fingerprint = FileFingerprint.copy(in, tempFile);
+            }
+            if (!force) {
+                Optional<FileOperationResponse> recorded = importLedgerService.findResult(OPERATION, fingerprint);
+                if (recorded.isPresent()) {
+                    return recorded.get();
+                }
+            }
+
+            MessageType fileSchema;
+            int rowGroupCount;
+            try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(tempFile))) {
+                fileSchema = reader.getFileMetaData().getSchema();
+                rowGroupCount = reader.getRowGroups().size();
+            } catch (IOException | RuntimeException e) {
+                // Not Parquet at all, or truncated before its footer: the upload is at fault, not the server
+                throw new IllegalArgumentException("File is not a readable Parquet file: " + e.getMessage());
+            }
+            try {
+                fileSchema.checkContains(StudentParquetMapper.SCHEMA);
+            } catch (InvalidRecordException e) {
+                throw new IllegalArgumentException("Parquet file does not match the student schema: " + e.getMessage());
+            }
+
+            logger.info("Parquet file has {} row groups, loading them as pipeline JDBC jobs", rowGroupCount);
+
+            // Row groups commit independently into a detached batch table, which only becomes
+            // part of the student table once every row group has loaded
+            long importBatchId = importBatchService.createBatch(file.getOriginalFilename(), OPERATION);
+            // Row groups load concurrently, so there is no "last" row for a repeated student ID
+            String insertSql = importBatchService.getInsertSql(importBatchId, false);
+
+            // Each row group holds a connection, so they queue for JDBC permits like other pipeline jobs
+            AtomicLong recordsSkipped = new AtomicLong();
+            List<CompletableFuture<Void>> loads = new ArrayList<>();
+            for (int i = 0; i < rowGroupCount; i++) {
+                int rowGroup = i;
+                loads.add(pipelineExecutor.runJdbcAsync(() -> {
+                    try {
+                        recordsSkipped.addAndGet(loadRowGroup(tempFile, fileSchema, rowGroup, insertSql));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            try {
+                // Completes once every row group has finished, so none still writes to a discarded table
+                CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                importBatchService.discardBatch(importBatchId);
+                throw new IOException("Parquet upload interrupted", e);
+            } catch (ExecutionException e) {
+                importBatchService.discardBatch(importBatchId);
+                Throwable cause = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+                if (cause instanceof ParquetDecodingException) {
+                    throw new IllegalArgumentException("Parquet file could not be decoded: " + cause.getMessage());
+                }
+                throw new IOException("Failed to load Parquet row group: " + cause.getMessage(), cause);
+            }
+
+            long recordsInserted;
+            try {
+                recordsInserted = importBatchService.attachBatch(importBatchId);
+            } catch (RuntimeException e) {
+                importBatchService.discardBatch(importBatchId);
+                throw e;
+            }
+            if (recordsInserted > 0) {
+                eventPublisher.publishEvent(
+                        StudentDataChangedEvent.allStudents(StudentDataChangedEvent.ChangeType.INSERT));
+            }
+
+            long totalTime = System.currentTimeMillis() - startTime;
+            logger.info("Parquet to Database upload completed. {} inserted, {} skipped from {} row groups in {} ms",
+                       recordsInserted, recordsSkipped.get(), rowGroupCount, totalTime);
+
+            FileOperationResponse response = new FileOperationResponse(
+                    "Database",
+                    file.getOriginalFilename(),
+                    recordsInserted,
+                    OPERATION
+            );
+            response.setImportBatchId(importBatchId);
+            importLedgerService.recordResult(OPERATION, fingerprint, file.getOriginalFilename(), response);
+            return response;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Read a single row group with its own reader and insert it through its own batch writer
+     * session, so rows the database rejects are skipped like in a CSV upload
+     *
+     * @return number of rows skipped
+     */
+    private long loadRowGroup(Path parquetFile, MessageType fileSchema, int rowGroup, String insertSql) throws IOException {
+        AdaptiveBatchWriter.Session batchWriterSession = batchWriter.newSession();
+        long inserted = 0;
+        long skipped = 0;
+
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(parquetFile))) {
+            PageReadStore pages = reader.readRowGroup(rowGroup);
+            MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(fileSchema);
+            RecordReader<Group> recordReader = columnIO.getRecordReader(pages, new GroupRecordConverter(fileSchema));
+
+            List<Object[]> batchArgs = new ArrayList<>();
+            long rowCount = pages.getRowCount();
+            for (long i = 0; i < rowCount; i++) {
+                Group record = recordReader.read();
+                try {
+                    batchArgs.add(toInsertArgs(StudentParquetMapper.fromGroup(record)));
+                } catch (RuntimeException e) {
+                    // A missing required value; the row is skipped, as a malformed CSV record would be
+                    logger.warn("Error processing Parquet row {} of row group {}: {}", i, rowGroup, e.getMessage());
+                    skipped++;
+                }
+
+                if (batchArgs.size() >= batchWriterSession.getBatchSize()) {
+                    AdaptiveBatchWriter.BatchResult result = writeBatch(batchWriterSession, insertSql, batchArgs);
+                    inserted += result.getInserted();
+                    skipped += result.getRejected();
+                    batchArgs.clear();
+                }
+            }
+            AdaptiveBatchWriter.BatchResult result = writeBatch(batchWriterSession, insertSql, batchArgs);
+            inserted += result.getInserted();
+            skipped += result.getRejected();
+        }
+
+        logger.debug("Row group {} loaded: {} students inserted, {} skipped", rowGroup, inserted, skipped);
+        return skipped;
+    }
+
+    /**
+     * Commit each batch on its own, as row groups load concurrently: a transaction spanning a row
+     * group would hold the student IDs it inserted, and row groups sharing IDs could deadlock.
+     * The writer's savepoints need the transaction.
+     */
+    private AdaptiveBatchWriter.BatchResult writeBatch(AdaptiveBatchWriter.Session batchWriterSession,
+                                                       String insertSql, List<Object[]> batchArgs) {
+        return batchTransaction.execute(status -> batchWriterSession.write(insertSql, batchArgs));
+    }
+
+    private Object[] toInsertArgs(StudentDto student) {
+        LocalDateTime createdAt = student.getCreatedAt() != null ? student.getCreatedAt() : LocalDateTime.now();
+        return new Object[]{
+                student.getStudentId(),
+                student.getFirstName(),
+                student.getLastName(),
+                Date.valueOf(student.getDob()),
+                student.getClassName(),
+                student.getScore(),
+                Timestamp.valueOf(createdAt),
+                StudentRowHash.of(student.getFirstName(), student.getLastName(), student.getDob(),
+                        student.getClassName(), student.getScore())
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.PipelineConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs background pipeline jobs (Excel generation, exports, replica loads). With
+ * spring.threads.virtual.enabled on Java 21+ every job gets its own virtual thread, so jobs
+ * blocked on JDBC or file I/O hold no platform thread; otherwise a fixed platform pool is used.
+ * Either way, jobs that use JDBC are limited by a semaphore rather than by the thread count,
+ * so they queue for a permit instead of for connections of the pool.
+ */
+@Service
+public class PipelineExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineExecutor.class);
+    private static final String THREAD_NAME_PREFIX = "pipeline-";
+
+    @Autowired
+    private PipelineConfig pipelineConfig;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    private AsyncTaskExecutor executor;
+    private Semaphore jdbcPermits;
+    private boolean virtualThreads;
+
+    @PostConstruct
+    void init() {
+        virtualThreads = virtualThreadsEnabled && Runtime.version().feature() >= 21;
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+            virtualExecutor.setVirtualThreads(true);
+            executor = virtualExecutor;
+        } else {
+            if (virtualThreadsEnabled) {
+                logger.warn("Virtual threads need Java 21 or later (running {}), using platform threads",
+                           Runtime.version());
+            }
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(pipelineConfig.getPlatformThreads());
+            pool.setMaxPoolSize(pipelineConfig.getPlatformThreads());
+            pool.setThreadNamePrefix(THREAD_NAME_PREFIX);
+            pool.initialize();
+            executor = pool;
+        }
+        // Fair, so a long queue of jobs is served in submission order
+        jdbcPermits = new Semaphore(pipelineConfig.getMaxConcurrentJdbcJobs(), true);
+        logger.info("Pipeline jobs run on {} threads, at most {} using JDBC at once",
+                   virtualThreads ? "virtual" : pipelineConfig.getPlatformThreads() + " platform",
+                   pipelineConfig.getMaxConcurrentJdbcJobs());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Whether jobs run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Run a job that does not touch the database
+     */
+    public CompletableFuture<Void> runAsync(Runnable job) {
+        return CompletableFuture.runAsync(job, executor);
+    }
+
+    /**
+     * Run a job that takes no JDBC permit and return its result. For work whose connections the
+     * caller bounds itself, such as chunks of a parallel PDF export, which would otherwise wait for
+     * permits held by the background export that is waiting for them.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> job) {
+        return CompletableFuture.supplyAsync(job, executor);
+    }
+
+    /**
+     * Run a job that uses JDBC once a permit is free
+     */
+    public CompletableFuture<Void> runJdbcAsync(Runnable job) {
+        return CompletableFuture.runAsync(() -> {
+            jdbcPermits.acquireUninterruptibly();
+            try {
+                job.run();
+            } finally {
+                jdbcPermits.release();
+            }
+        }, executor);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("virtualThreads", virtualThreads);
+        stats.put("maxConcurrentJdbcJobs", pipelineConfig.getMaxConcurrentJdbcJobs());
+        stats.put("jdbcPermitsAvailable", jdbcPermits.availablePermits());
+        stats.put("jdbcJobsWaiting", jdbcPermits.getQueueLength());
+        return stats;
+    }
+}
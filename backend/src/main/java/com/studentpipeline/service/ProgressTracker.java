@@ -15,44 +15,23 @@ public class ProgressTracker {
     private final Map<String, ProgressInfo> progressMap = new ConcurrentHashMap<>();
     
     public void startProgress(String operationId, long totalRecords) {
-        ProgressInfo info = new ProgressInfo();
-        info.operationId = operationId;
-        info.totalRecords = totalRecords;
-        info.currentRecords = 0;
-        info.startTime = System.currentTimeMillis();
-        info.completed = false;
-        info.status = "IN_PROGRESS";
-        info.message = "Starting operation...";
-        progressMap.put(operationId, info);
+        progressMap.put(operationId, new ProgressInfo(operationId, totalRecords, 0, System.currentTimeMillis(),
+                false, "IN_PROGRESS", "Starting operation..."));
     }
     
     public void updateProgress(String operationId, long currentRecords, String message) {
-        ProgressInfo info = progressMap.get(operationId);
-        if (info != null) {
-            info.currentRecords = currentRecords;
-            if (message != null) {
-                info.message = message;
-            }
-        }
+        progressMap.computeIfPresent(operationId, (id, info) -> info.with(currentRecords, info.completed,
+                info.status, message != null ? message : info.message));
     }
     
     public void completeProgress(String operationId, String message) {
-        ProgressInfo info = progressMap.get(operationId);
-        if (info != null) {
-            info.completed = true;
-            info.status = "COMPLETED";
-            info.message = message;
-            info.currentRecords = info.totalRecords;
-        }
+        progressMap.computeIfPresent(operationId, (id, info) -> info.with(info.totalRecords, true,
+                "COMPLETED", message));
     }
     
     public void failProgress(String operationId, String message) {
-        ProgressInfo info = progressMap.get(operationId);
-        if (info != null) {
-            info.completed = true;
-            info.status = "FAILED";
-            info.message = message;
-        }
+        progressMap.computeIfPresent(operationId, (id, info) -> info.with(info.currentRecords, true,
+                "FAILED", message));
     }
     
     public ProgressResponse getProgress(String operationId) {
@@ -77,13 +56,29 @@ public class ProgressTracker {
         progressMap.remove(operationId);
     }
     
+    // Immutable, replaced as a whole in the map, so a reader always sees one consistent state
     private static class ProgressInfo {
-        String operationId;
-        long totalRecords;
-        long currentRecords;
-        long startTime;
-        boolean completed;
-        String status;
-        String message;
+        final String operationId;
+        final long totalRecords;
+        final long currentRecords;
+        final long startTime;
+        final boolean completed;
+        final String status;
+        final String message;
+
+        ProgressInfo(String operationId, long totalRecords, long currentRecords, long startTime,
+                     boolean completed, String status, String message) {
+            this.operationId = operationId;
+            this.totalRecords = totalRecords;
+            this.currentRecords = currentRecords;
+            this.startTime = startTime;
+            this.completed = completed;
+            this.status = status;
+            this.message = message;
+        }
+
+        ProgressInfo with(long currentRecords, boolean completed, String status, String message) {
+            return new ProgressInfo(operationId, totalRecords, currentRecords, startTime, completed, status, message);
+        }
     }
 }
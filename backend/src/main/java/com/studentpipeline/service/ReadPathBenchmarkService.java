@@ -0,0 +1,112 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.dto.StudentDto;
+import com.studentpipeline.entity.Student;
+import com.studentpipeline.model.StudentFilter;
+import com.studentpipeline.repository.StudentRepository;
+import com.studentpipeline.repository.StudentSpecifications;
+import com.studentpipeline.util.StudentMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the old read path (managed Student entities copied to DTOs) with the DTO projection
+ * queries, bypassing the caches and the read replica. Reports latency and bytes allocated per row
+ * on the calling thread.
+ */
+@Service
+@Profile("benchmark")
+public class ReadPathBenchmarkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadPathBenchmarkService.class);
+    private static final String PATH_ENTITY = "entity";
+    private static final String PATH_PROJECTION = "projection";
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    /**
+     * Run a page query and a full (export) query through both read paths
+     *
+     * @param runs      timed runs per path, after one warm-up run
+     * @param pageSize  size of the page query
+     * @param className optional class filter, applied to both queries
+     */
+    public Map<String, Object> benchmark(int runs, int pageSize, String className) {
+        Specification<Student> specification = StudentSpecifications.withFilters(StudentFilter.of(null, className));
+        Sort sort = Sort.by("studentId").ascending();
+        Pageable pageable = PageRequest.of(0, pageSize, sort);
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put(PATH_ENTITY, measure(runs, () -> {
+            Page<StudentDto> result = studentRepository.findAll(specification, pageable).map(StudentMapper::toDto);
+            return result.getNumberOfElements();
+        }));
+        page.put(PATH_PROJECTION, measure(runs, () -> studentRepository.findDtos(specification, pageable)
+                .getNumberOfElements()));
+
+        Map<String, Object> export = new LinkedHashMap<>();
+        export.put(PATH_ENTITY, measure(runs, () -> {
+            List<StudentDto> result = studentRepository.findAll(specification, sort).stream()
+                    .map(StudentMapper::toDto)
+                    .collect(Collectors.toList());
+            return result.size();
+        }));
+        export.put(PATH_PROJECTION, measure(runs, () -> studentRepository.findAllDtos(specification, sort).size()));
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("runs", runs);
+        results.put("pageSize", pageSize);
+        results.put("className", className);
+        results.put("page", page);
+        results.put("export", export);
+        logger.info("Read path benchmark: {}", results);
+        return results;
+    }
+
+    private Map<String, Object> measure(int runs, LongSupplier query) {
+        query.getAsLong(); // warm-up
+
+        boolean allocationSupported = allocatedBytes() >= 0;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        long rows = 0;
+        for (int i = 0; i < runs; i++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            rows = query.getAsLong();
+            totalNanos += System.nanoTime() - start;
+            totalBytes += allocatedBytes() - bytesBefore;
+        }
+
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("rows", rows);
+        timing.put("avgMs", totalNanos / runs / 1_000_000.0);
+        timing.put("bytesPerRow", allocationSupported && rows > 0 ? totalBytes / runs / rows : null);
+        return timing;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean threadBean) {
+            return threadBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,417 @@
+package com.studentpipeline.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studentpipeline.dto.ScoreAnalyticsResponse;
+import com.studentpipeline.dto.ScoreAnalyticsResponse.ClassScoreStats;
+import com.studentpipeline.model.StudentFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Score and age analytics over the whole student table, computed by one of two strategies:
+ * <ul>
+ *   <li>{@code sql} - GROUP BY aggregates with percentile_cont, evaluated by PostgreSQL</li>
+ *   <li>{@code forkjoin} - the rows are streamed in student ID order, cut into chunks of
+ *   primitive arrays and aggregated by fork/join tasks while the stream continues</li>
+ * </ul>
+ * Both produce the same figures. Results are cached per data version.
+ */
+@Service
+public class ScoreAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreAnalyticsService.class);
+
+    public static final String STRATEGY_SQL = "sql";
+    public static final String STRATEGY_FORK_JOIN = "forkjoin";
+    public static final int MAX_BUCKET_WIDTH = 100;
+
+    private static final int CHUNK_SIZE = 65536;
+    private static final int FORK_THRESHOLD = 8192;
+    private static final int MAX_CACHED_RESULTS = 64;
+
+    private static final String CLASS_STATS_SQL =
+            "SELECT class_name, COUNT(*), AVG(score), STDDEV_POP(score), MIN(score), MAX(score), " +
+            "percentile_cont(0.5) WITHIN GROUP (ORDER BY score), " +
+            "percentile_cont(0.9) WITHIN GROUP (ORDER BY score), " +
+            "percentile_cont(0.99) WITHIN GROUP (ORDER BY score) " +
+            "FROM student GROUP BY class_name ORDER BY class_name";
+
+    private static final String HISTOGRAM_SQL =
+            "SELECT class_name, FLOOR(score / ?::numeric)::int * ? AS bucket, COUNT(*) " +
+            "FROM student GROUP BY class_name, bucket ORDER BY class_name, bucket";
+
+    private static final String AGE_SQL =
+            "SELECT DATE_PART('year', AGE(CURRENT_DATE, dob))::int AS age, COUNT(*) " +
+            "FROM student GROUP BY age ORDER BY age";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentReportService studentReportService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Bounded, as the key includes the caller-chosen bucket width
+    private final Cache<String, ScoreAnalyticsResponse> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_RESULTS)
+            .build();
+
+    public boolean isSupportedStrategy(String strategy) {
+        return STRATEGY_SQL.equalsIgnoreCase(strategy) || STRATEGY_FORK_JOIN.equalsIgnoreCase(strategy);
+    }
+
+    public boolean isValidBucketWidth(int bucketWidth) {
+        return bucketWidth >= 1 && bucketWidth <= MAX_BUCKET_WIDTH;
+    }
+
+    /**
+     * Get analytics with the given strategy, served from cache while the data version is unchanged
+     */
+    public ScoreAnalyticsResponse getAnalytics(String strategy, int bucketWidth) {
+        String lowerStrategy = strategy.toLowerCase();
+        long version = dataVersionService.getVersion();
+        String key = lowerStrategy + "|" + bucketWidth;
+
+        ScoreAnalyticsResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.getDataVersion() == version) {
+            logger.debug("Analytics cache hit for {} at data version {}", key, version);
+            return cached;
+        }
+
+        ScoreAnalyticsResponse analytics = compute(lowerStrategy, bucketWidth, version);
+        cache.put(key, analytics);
+        return analytics;
+    }
+
+    /**
+     * Run both strategies uncached and report their timings
+     */
+    public Map<String, Object> benchmark(int runs, int bucketWidth) {
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("runs", runs);
+        for (String strategy : List.of(STRATEGY_SQL, STRATEGY_FORK_JOIN)) {
+            long[] times = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                times[i] = compute(strategy, bucketWidth, dataVersionService.getVersion()).getComputeTimeMs();
+            }
+            Map<String, Object> timing = new LinkedHashMap<>();
+            timing.put("minMs", Arrays.stream(times).min().orElse(0));
+            timing.put("avgMs", Arrays.stream(times).average().orElse(0));
+            timing.put("maxMs", Arrays.stream(times).max().orElse(0));
+            results.put(strategy, timing);
+            logger.info("Analytics benchmark {}: {}", strategy, timing);
+        }
+        return results;
+    }
+
+    private ScoreAnalyticsResponse compute(String strategy, int bucketWidth, long version) {
+        long startTime = System.currentTimeMillis();
+        ScoreAnalyticsResponse analytics = strategy.equals(STRATEGY_FORK_JOIN)
+                ? computeWithForkJoin(bucketWidth)
+                : computeWithSql(bucketWidth);
+
+        analytics.setStrategy(strategy);
+        analytics.setDataVersion(version);
+        analytics.setBucketWidth(bucketWidth);
+        analytics.setComputeTimeMs(System.currentTimeMillis() - startTime);
+        logger.info("Computed {} analytics over {} students in {} ms",
+                   strategy, analytics.getTotalStudents(), analytics.getComputeTimeMs());
+        return analytics;
+    }
+
+    private ScoreAnalyticsResponse computeWithSql(int bucketWidth) {
+        // One snapshot for all three queries so the figures agree with each other
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        return template.execute(status -> {
+            Map<String, Map<Integer, Long>> histograms = new HashMap<>();
+            jdbcTemplate.query(HISTOGRAM_SQL, (RowCallbackHandler) rs -> {
+                histograms.computeIfAbsent(rs.getString(1), name -> new LinkedHashMap<>())
+                        .put(rs.getInt(2), rs.getLong(3));
+            }, bucketWidth, bucketWidth);
+
+            List<ClassScoreStats> classes = jdbcTemplate.query(CLASS_STATS_SQL, (rs, rowNum) -> new ClassScoreStats(
+                    rs.getString(1),
+                    rs.getLong(2),
+                    rs.getDouble(3),
+                    rs.getDouble(4),
+                    rs.getInt(5),
+                    rs.getInt(6),
+                    rs.getDouble(7),
+                    rs.getDouble(8),
+                    rs.getDouble(9),
+                    histograms.getOrDefault(rs.getString(1), new LinkedHashMap<>())
+            ));
+
+            Map<Integer, Long> ages = new LinkedHashMap<>();
+            jdbcTemplate.query(AGE_SQL, (RowCallbackHandler) rs -> {
+                ages.put(rs.getInt(1), rs.getLong(2));
+            });
+
+            long total = classes.stream().mapToLong(ClassScoreStats::getCount).sum();
+            return new ScoreAnalyticsResponse(null, 0, total, bucketWidth, 0, classes, ages);
+        });
+    }
+
+    private ScoreAnalyticsResponse computeWithForkJoin(int bucketWidth) {
+        LocalDate today = LocalDate.now();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int maxPending = Math.max(2, pool.getParallelism() * 2);
+
+        Map<String, Integer> classCodes = new HashMap<>();
+        List<String> classNames = new ArrayList<>();
+        List<ForkJoinTask<Aggregate>> pending = new ArrayList<>();
+        Aggregate total = new Aggregate();
+        Chunk[] chunk = {new Chunk()};
+
+        studentReportService.streamStudentsWithFilters(StudentFilter.none(), student -> {
+            Integer code = classCodes.get(student.getClassName());
+            if (code == null) {
+                code = classNames.size();
+                classCodes.put(student.getClassName(), code);
+                classNames.add(student.getClassName());
+            }
+            chunk[0].add(code, student.getScore(), Period.between(student.getDob(), today).getYears());
+
+            if (chunk[0].size == CHUNK_SIZE) {
+                pending.add(pool.submit(new AggregateTask(chunk[0], 0, CHUNK_SIZE)));
+                chunk[0] = new Chunk();
+                // Bound the chunks held in memory by folding in the oldest finished ones
+                if (pending.size() >= maxPending) {
+                    total.merge(pending.remove(0).join());
+                }
+            }
+        });
+
+        if (chunk[0].size > 0) {
+            pending.add(pool.submit(new AggregateTask(chunk[0], 0, chunk[0].size)));
+        }
+        for (ForkJoinTask<Aggregate> task : pending) {
+            total.merge(task.join());
+        }
+
+        // Same class order as the SQL strategy
+        Map<String, ClassScoreStats> byName = new TreeMap<>();
+        long totalStudents = 0;
+        for (int code = 0; code < classNames.size(); code++) {
+            ClassAggregate aggregate = code < total.classes.size() ? total.classes.get(code) : null;
+            if (aggregate != null && aggregate.count > 0) {
+                byName.put(classNames.get(code), aggregate.toStats(classNames.get(code), bucketWidth));
+                totalStudents += aggregate.count;
+            }
+        }
+
+        return new ScoreAnalyticsResponse(null, 0, totalStudents, bucketWidth, 0,
+                new ArrayList<>(byName.values()), total.ages.toMap(1));
+    }
+
+    /**
+     * A block of rows as primitive columns
+     */
+    private static final class Chunk {
+        private final int[] classCodes = new int[CHUNK_SIZE];
+        private final int[] scores = new int[CHUNK_SIZE];
+        private final int[] ages = new int[CHUNK_SIZE];
+        private int size;
+
+        void add(int classCode, int score, int age) {
+            classCodes[size] = classCode;
+            scores[size] = score;
+            ages[size] = age;
+            size++;
+        }
+    }
+
+    /**
+     * Aggregates rows [from, to) of a chunk, splitting in halves down to FORK_THRESHOLD rows
+     */
+    private static final class AggregateTask extends RecursiveTask<Aggregate> {
+        private final Chunk chunk;
+        private final int from;
+        private final int to;
+
+        AggregateTask(Chunk chunk, int from, int to) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Aggregate compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                Aggregate aggregate = new Aggregate();
+                for (int i = from; i < to; i++) {
+                    aggregate.add(chunk.classCodes[i], chunk.scores[i], chunk.ages[i]);
+                }
+                return aggregate;
+            }
+
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(chunk, from, mid);
+            left.fork();
+            Aggregate right = new AggregateTask(chunk, mid, to).compute();
+            right.merge(left.join());
+            return right;
+        }
+    }
+
+    /**
+     * Partial aggregate: per class code score aggregates, plus the age histogram
+     */
+    private static final class Aggregate {
+        private final List<ClassAggregate> classes = new ArrayList<>();
+        private final DenseHistogram ages = new DenseHistogram();
+
+        void add(int classCode, int score, int age) {
+            while (classes.size() <= classCode) {
+                classes.add(new ClassAggregate());
+            }
+            classes.get(classCode).add(score);
+            ages.add(age, 1);
+        }
+
+        void merge(Aggregate other) {
+            while (classes.size() < other.classes.size()) {
+                classes.add(new ClassAggregate());
+            }
+            for (int code = 0; code < other.classes.size(); code++) {
+                classes.get(code).merge(other.classes.get(code));
+            }
+            ages.merge(other.ages);
+        }
+    }
+
+    private static final class ClassAggregate {
+        private long count;
+        private long sum;
+        private long sumOfSquares;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        // Scores are small integers, so exact percentiles come from per-score counts
+        private final DenseHistogram scores = new DenseHistogram();
+
+        void add(int score) {
+            count++;
+            sum += score;
+            sumOfSquares += (long) score * score;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+            scores.add(score, 1);
+        }
+
+        void merge(ClassAggregate other) {
+            count += other.count;
+            sum += other.sum;
+            sumOfSquares += other.sumOfSquares;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            scores.merge(other.scores);
+        }
+
+        ClassScoreStats toStats(String className, int bucketWidth) {
+            double mean = (double) sum / count;
+            double variance = Math.max(0, (double) sumOfSquares / count - mean * mean);
+            return new ClassScoreStats(className, count, mean, Math.sqrt(variance), min, max,
+                    scores.percentile(0.5, count), scores.percentile(0.9, count), scores.percentile(0.99, count),
+                    scores.toMap(bucketWidth));
+        }
+    }
+
+    /**
+     * Counts per integer value over a contiguous, growable range
+     */
+    private static final class DenseHistogram {
+        private int base;
+        private long[] counts = new long[0];
+
+        void add(int value, long n) {
+            if (counts.length == 0) {
+                base = value;
+                counts = new long[16];
+            } else if (value < base) {
+                int shift = Math.max(base - value, counts.length / 2);
+                long[] grown = new long[counts.length + shift];
+                System.arraycopy(counts, 0, grown, shift, counts.length);
+                counts = grown;
+                base -= shift;
+            } else if (value - base >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(value - base + 1, counts.length * 2));
+            }
+            counts[value - base] += n;
+        }
+
+        void merge(DenseHistogram other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.base + i, other.counts[i]);
+                }
+            }
+        }
+
+        /**
+         * Continuous percentile over total values, interpolating like percentile_cont
+         */
+        double percentile(double fraction, long total) {
+            double position = fraction * (total - 1);
+            long lowerRank = (long) Math.floor(position);
+            int lower = valueAtRank(lowerRank);
+            double weight = position - lowerRank;
+            if (weight == 0) {
+                return lower;
+            }
+            return lower + weight * (valueAtRank(lowerRank + 1) - lower);
+        }
+
+        private int valueAtRank(long rank) {
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank) {
+                    return base + i;
+                }
+            }
+            throw new IllegalArgumentException("Rank " + rank + " exceeds histogram size " + seen);
+        }
+
+        /**
+         * Sorted map of bucket lower bound to count, with buckets of the given width
+         */
+        Map<Integer, Long> toMap(int bucketWidth) {
+            Map<Integer, Long> buckets = new LinkedHashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    buckets.merge(Math.floorDiv(base + i, bucketWidth) * bucketWidth, counts[i], Long::sum);
+                }
+            }
+            return buckets;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.studentpipeline.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.studentpipeline.config.ReadRouting;
+import com.studentpipeline.config.StudentCacheConfig;
+import com.studentpipeline.dto.StudentDto;
+import com.studentpipeline.event.StudentDataChangedEvent;
+import com.studentpipeline.model.StudentFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process read-through cache for student lookups (including misses) and
+ * report pages. Caffeine evicts with W-TinyLFU under the size limits, entries expire
+ * after a TTL, and committed inserts/deletes invalidate only the affected entries.
+ * Loads that fill the cache read from the primary, never from a read pool that may lag it.
+ */
+@Service
+public class StudentCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentCacheService.class);
+
+    @Autowired
+    private StudentCacheConfig studentCacheConfig;
+
+    private Cache<Long, Optional<StudentDto>> students;
+    private Cache<PageKey, Page<StudentDto>> pages;
+
+    // Loads fill the cache under the read lock, invalidation runs under the write lock and bumps
+    // the stamp: a load that raced an invalidation sees a new stamp and is not cached
+    private final ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+    private long invalidationStamp;
+
+    @PostConstruct
+    void initCaches() {
+        Duration ttl = Duration.ofSeconds(studentCacheConfig.getTtlSeconds());
+        students = Caffeine.newBuilder()
+                .maximumSize(studentCacheConfig.getMaxStudents())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        pages = Caffeine.newBuilder()
+                .maximumSize(studentCacheConfig.getMaxPages())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a student by student ID, loading (and caching, even when absent) on a miss
+     */
+    public StudentDto getStudent(Long studentId, Supplier<StudentDto> loader) {
+        if (!studentCacheConfig.isEnabled()) {
+            return loader.get();
+        }
+
+        Optional<StudentDto> cached = students.getIfPresent(studentId);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        long stamp = currentStamp();
+        StudentDto student = ReadRouting.onPrimary(loader::get);
+        putIfNotInvalidated(stamp, () -> students.put(studentId, Optional.ofNullable(student)));
+        return student;
+    }
+
+    /**
+     * Get a report page, loading and caching it on a miss
+     */
+    public Page<StudentDto> getPage(PageKey key, Supplier<Page<StudentDto>> loader) {
+        if (!studentCacheConfig.isEnabled()) {
+            return loader.get();
+        }
+
+        Page<StudentDto> cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = currentStamp();
+        Page<StudentDto> page = ReadRouting.onPrimary(loader::get);
+        putIfNotInvalidated(stamp, () -> pages.put(key, page));
+        return page;
+    }
+
+    /**
+     * Drop the entries a committed change can affect: lookups of the changed student IDs,
+     * and pages whose filters could match a changed row.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentDataChanged(StudentDataChangedEvent event) {
+        invalidationLock.writeLock().lock();
+        try {
+            invalidationStamp++;
+
+            if (event.getStudentIds() == null) {
+                students.invalidateAll();
+            } else {
+                students.invalidateAll(event.getStudentIds());
+            }
+            pages.asMap().keySet().removeIf(key -> key.mayContain(event));
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+        logger.debug("Student cache invalidated after {}", event);
+    }
+
+    /**
+     * Hit/miss/eviction statistics for both caches
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", studentCacheConfig.isEnabled());
+        stats.put("students", toStatsMap(students.stats(), students.estimatedSize()));
+        stats.put("pages", toStatsMap(pages.stats(), pages.estimatedSize()));
+        return stats;
+    }
+
+    private Map<String, Object> toStatsMap(CacheStats cacheStats, long size) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("hitCount", cacheStats.hitCount());
+        stats.put("missCount", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictionCount", cacheStats.evictionCount());
+        return stats;
+    }
+
+    private long currentStamp() {
+        invalidationLock.readLock().lock();
+        try {
+            return invalidationStamp;
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+    }
+
+    private void putIfNotInvalidated(long stamp, Runnable put) {
+        invalidationLock.readLock().lock();
+        try {
+            if (stamp == invalidationStamp) {
+                put.run();
+            }
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cache key for a report page: the filters plus page coordinates
+     */
+    public static final class PageKey {
+        private final StudentFilter filter;
+        private final int page;
+        private final int size;
+
+        public PageKey(StudentFilter filter, int page, int size) {
+            this.filter = filter;
+            this.page = page;
+            this.size = size;
+        }
+
+        // Range filters only narrow a page further, so class and student ID decide what may be affected
+        boolean mayContain(StudentDataChangedEvent event) {
+            return (filter.getClassName() == null || event.affectsClass(filter.getClassName()))
+                    && (filter.getStudentId() == null || event.affectsStudent(filter.getStudentId()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PageKey)) return false;
+            PageKey other = (PageKey) o;
+            return page == other.page && size == other.size && filter.equals(other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filter, page, size);
+        }
+    }
+}
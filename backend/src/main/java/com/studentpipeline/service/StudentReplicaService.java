@@ -0,0 +1,261 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.ReadReplicaConfig;
+import com.studentpipeline.dto.StudentDto;
+import com.studentpipeline.event.StudentDataChangedEvent;
+import com.studentpipeline.model.ColumnarStudentTable;
+import com.studentpipeline.util.StudentMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps an in-memory {@link ColumnarStudentTable} replica of the student table so report
+ * queries can be answered without touching the database. The replica is bulk-loaded at
+ * startup and updated from committed StudentDataChangedEvents. Changes are collected and merged
+ * in one copy of the columns every read-replica.merge-interval-ms, rather than one copy per event;
+ * while changes are pending, and until the replica is loaded (or when disabled),
+ * {@link #getTable()} returns null and callers fall back to the database.
+ */
+@Service
+public class StudentReplicaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentReplicaService.class);
+    private static final int LOAD_FETCH_SIZE = 10000;
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT id, student_id, first_name, last_name, dob, class_name, score, created_at " +
+            "FROM student ORDER BY student_id ASC";
+
+    private static final String SELECT_BY_STUDENT_IDS_SQL =
+            "SELECT id, student_id, first_name, last_name, dob, class_name, score, created_at " +
+            "FROM student WHERE student_id = ANY(?)";
+
+    @Autowired
+    private ReadReplicaConfig readReplicaConfig;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PipelineExecutor pipelineExecutor;
+
+    // Replaced wholesale on every change; readers always see one consistent snapshot
+    private volatile ColumnarStudentTable table;
+    private volatile long lastRefreshTime;
+    // A lock rather than synchronized: it is held across JDBC reads, which would pin a virtual thread's carrier
+    private final ReentrantLock updateLock = new ReentrantLock();
+    // Student IDs changed since the last merge, and those of them touched by an insert; guarded by updateLock
+    private final Set<Long> pendingStudentIds = new HashSet<>();
+    private final Set<Long> pendingInsertedIds = new HashSet<>();
+    private volatile boolean changesPending;
+
+    /**
+     * Get the current replica, or null if it is disabled or not loaded
+     */
+    public ColumnarStudentTable getTable() {
+        return readReplicaConfig.isEnabled() && !changesPending ? table : null;
+    }
+
+    /**
+     * Load the replica in the background once the application is up, so startup is not
+     * held back and requests are served from the database until the load completes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!readReplicaConfig.isEnabled()) {
+            return;
+        }
+        pipelineExecutor.runJdbcAsync(this::reloadSafely);
+    }
+
+    /**
+     * Rebuild the replica from a full scan of the student table
+     */
+    public void reload() {
+        updateLock.lock();
+        try {
+            long startTime = System.currentTimeMillis();
+            ColumnarStudentTable.Builder builder = ColumnarStudentTable.builder(table != null ? table.size() : 0);
+
+            primaryTransaction().executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_ALL_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(LOAD_FETCH_SIZE);
+                return ps;
+            }, (RowCallbackHandler) rs -> builder.add(StudentMapper.fromResultSet(rs))));
+
+            table = builder.build();
+            clearPendingChanges();
+            lastRefreshTime = System.currentTimeMillis();
+            logger.info("Student read replica loaded: {} rows, ~{} MB of columns in {} ms",
+                       table.size(), table.estimatedBytes() / (1024 * 1024), lastRefreshTime - startTime);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Record a committed change for the next merge, or for a change without student IDs (bulk
+     * delete, rollback, large upload) drop the replica and rebuild it in the background. Either
+     * way the replica stops serving reads at once, so caches invalidated by the same event (the
+     * later listeners) are refilled from the database, not from the stale replica.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentDataChanged(StudentDataChangedEvent event) {
+        if (!readReplicaConfig.isEnabled()) {
+            return;
+        }
+
+        try {
+            updateLock.lock();
+            try {
+                if (table == null) {
+                    return; // Not loaded yet; the initial load will see the change
+                }
+                if (event.getStudentIds() == null) {
+                    // Bulk change: stop serving now and rebuild off the publishing request's thread
+                    table = null;
+                    pipelineExecutor.runJdbcAsync(this::reloadSafely);
+                } else {
+                    pendingStudentIds.addAll(event.getStudentIds());
+                    if (event.getChangeType() == StudentDataChangedEvent.ChangeType.INSERT) {
+                        pendingInsertedIds.addAll(event.getStudentIds());
+                    }
+                    changesPending = true;
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        } catch (RuntimeException e) {
+            dropAndReload("apply " + event, e);
+        }
+    }
+
+    /**
+     * Merge the changes collected since the last run into a new copy of the replica
+     */
+    @Scheduled(fixedDelayString = "${read-replica.merge-interval-ms:1000}")
+    public void mergePendingChanges() {
+        if (!changesPending) {
+            return;
+        }
+
+        try {
+            updateLock.lock();
+            try {
+                if (table != null && changesPending) {
+                    applyChanges();
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        } catch (RuntimeException e) {
+            dropAndReload("merge pending changes", e);
+        }
+    }
+
+    /**
+     * Replica size and freshness
+     */
+    public Map<String, Object> getStats() {
+        ColumnarStudentTable current = getTable();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", readReplicaConfig.isEnabled());
+        stats.put("loaded", current != null);
+        stats.put("rows", current != null ? current.size() : 0);
+        stats.put("estimatedBytes", current != null ? current.estimatedBytes() : 0);
+        stats.put("changesPending", changesPending);
+        stats.put("lastRefreshTime", lastRefreshTime);
+        return stats;
+    }
+
+    /**
+     * Re-read the pending student IDs that were inserted and merge them in: pending IDs no
+     * longer in the table are removed, the rest replace (or add) their rows
+     */
+    private void applyChanges() {
+        List<Long> studentIds = new ArrayList<>(pendingInsertedIds);
+        List<StudentDto> current = new ArrayList<>();
+
+        if (!studentIds.isEmpty()) {
+            int chunkSize = readReplicaConfig.getRefreshBatchSize();
+            primaryTransaction().executeWithoutResult(status -> {
+                for (int from = 0; from < studentIds.size(); from += chunkSize) {
+                    Object[] chunk = studentIds.subList(from, Math.min(from + chunkSize, studentIds.size())).toArray();
+                    current.addAll(jdbcTemplate.query(SELECT_BY_STUDENT_IDS_SQL,
+                            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", chunk)),
+                            (rs, rowNum) -> StudentMapper.fromResultSet(rs)));
+                }
+            });
+        }
+
+        table = table.withChanges(pendingStudentIds, current);
+        int merged = pendingStudentIds.size();
+        clearPendingChanges();
+        lastRefreshTime = System.currentTimeMillis();
+        logger.debug("Student read replica merged {} changed student IDs: {} rows", merged, table.size());
+    }
+
+    private void clearPendingChanges() {
+        pendingStudentIds.clear();
+        pendingInsertedIds.clear();
+        changesPending = false;
+    }
+
+    /**
+     * A replica that missed a change must not serve reads, so drop it and rebuild
+     */
+    private void dropAndReload(String action, RuntimeException e) {
+        logger.error("Failed to {} on student read replica, reloading: {}", action, e.getMessage(), e);
+        table = null;
+        pipelineExecutor.runJdbcAsync(this::reloadSafely);
+    }
+
+    private void reloadSafely() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.error("Failed to load student read replica, serving reports from the database: {}",
+                        e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Listeners run after the publishing transaction committed, so reads need a transaction
+     * of their own (PostgreSQL also only honours the fetch size inside one). Not read-only:
+     * that would route it to the read pool, which may be a replica that has not yet seen the
+     * commit being applied.
+     */
+    private TransactionTemplate primaryTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
@@ -1,44 +1,98 @@
 package com.studentpipeline.service;
 
 import com.studentpipeline.dto.StudentDto;
-import com.studentpipeline.entity.Student;
+import com.studentpipeline.entity.StudentClassSummary;
+import com.studentpipeline.event.StudentDataChangedEvent;
+import com.studentpipeline.exception.BusinessException;
+import com.studentpipeline.model.ColumnarStudentTable;
+import com.studentpipeline.model.StudentFilter;
 import com.studentpipeline.repository.StudentRepository;
+import com.studentpipeline.repository.StudentSpecifications;
 import com.studentpipeline.util.StudentMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 @Service
 public class StudentReportService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentReportService.class);
+    private static final int STREAM_FETCH_SIZE = 5000;
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final int DELETE_CHUNK_SIZE = 10000;
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-F]+(-[0-9A-F]+)+");
+
+    private static final String LOOKUP_SQL =
+            "SELECT id, student_id, first_name, last_name, dob, class_name, score, created_at " +
+            "FROM student WHERE student_id = ANY(?)";
 
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentCacheService studentCacheService;
+
+    @Autowired
+    private StudentReplicaService studentReplicaService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ClassSummaryService classSummaryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Get paginated students with optional filters
      */
-    public Page<StudentDto> getStudents(int page, int size, Long studentId, String className) {
-        logger.info("Fetching students - page: {}, size: {}, studentId: {}, className: {}", 
-                   page, size, studentId, className);
+    public Page<StudentDto> getStudents(int page, int size, StudentFilter filter) {
+        logger.info("Fetching students - page: {}, size: {}, filter: {}", page, size, filter);
 
-        // Create pageable with sorting by student ID
-        Pageable pageable = PageRequest.of(page, size, Sort.by("studentId").ascending());
+        StudentCacheService.PageKey key = new StudentCacheService.PageKey(filter, page, size);
+        Page<StudentDto> studentDtoPage = studentCacheService.getPage(key, () -> {
+            // Create pageable with sorting by student ID
+            Pageable pageable = PageRequest.of(page, size, Sort.by("studentId").ascending());
 
-        // Fetch students with filters
-        Page<Student> studentPage = studentRepository.findStudentsWithFilters(studentId, className, pageable);
+            ColumnarStudentTable replica = getReplica(filter);
+            if (replica != null) {
+                return new PageImpl<>(replica.page(filter.getStudentId(), filter.getClassName(), pageable.getOffset(), size),
+                        pageable, replica.count(filter.getStudentId(), filter.getClassName(), null, null));
+            }
 
-        // Convert to DTOs
-        Page<StudentDto> studentDtoPage = studentPage.map(StudentMapper::toDto);
+            // Fetch students with filters as DTOs
+            return studentRepository.findDtos(StudentSpecifications.withFilters(filter), pageable);
+        });
 
         logger.info("Found {} students (total elements: {}, total pages: {})", 
                    studentDtoPage.getNumberOfElements(),
@@ -51,27 +105,312 @@ public class StudentReportService {
     /**
      * Get all students with filters (for exports)
      */
-    public List<StudentDto> getAllStudentsWithFilters(Long studentId, String className) {
-        logger.info("Fetching all students for export - studentId: {}, className: {}", studentId, className);
+    public List<StudentDto> getAllStudentsWithFilters(StudentFilter filter) {
+        logger.info("Fetching all students for export - filter: {}", filter);
+
+        ColumnarStudentTable replica = getReplica(filter);
+        if (replica != null) {
+            List<StudentDto> studentDtos = new ArrayList<>();
+            replica.forEach(filter.getStudentId(), filter.getClassName(), null, null, studentDtos::add);
+            logger.info("Found {} students for export in read replica", studentDtos.size());
+            return studentDtos;
+        }
 
-        List<Student> students = studentRepository.findAllStudentsWithFilters(studentId, className);
-        List<StudentDto> studentDtos = students.stream()
-                .map(StudentMapper::toDto)
-                .collect(Collectors.toList());
+        List<StudentDto> studentDtos = studentRepository.findAllDtos(
+                StudentSpecifications.withFilters(filter), Sort.by("studentId").ascending());
 
         logger.info("Found {} students for export", studentDtos.size());
         return studentDtos;
     }
 
+    /**
+     * Stream all students matching the filters (ordered by student ID) to the consumer
+     * through a server-side cursor, so exports never hold the whole result set in memory.
+     * PostgreSQL only honours the fetch size inside a transaction, hence @Transactional.
+     *
+     * @return number of students streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamStudentsWithFilters(StudentFilter filter, Consumer<StudentDto> consumer) {
+        return streamStudentsWithFilters(filter, null, null, consumer);
+    }
+
+    /**
+     * Stream students matching the filters whose student ID lies in [fromStudentId, toStudentId]
+     * (either bound may be null).
+     *
+     * @return number of students streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamStudentsWithFilters(StudentFilter filter, Long fromStudentId, Long toStudentId,
+                                          Consumer<StudentDto> consumer) {
+        logger.info("Streaming students for export - filter: {}, range: [{}, {}]", filter, fromStudentId, toStudentId);
+
+        ColumnarStudentTable replica = getReplica(filter);
+        if (replica != null) {
+            long streamed = replica.forEach(filter.getStudentId(), filter.getClassName(),
+                    fromStudentId, toStudentId, consumer);
+            logger.info("Streamed {} students for export from read replica", streamed);
+            return streamed;
+        }
+
+        return streamFromDatabase(filter, fromStudentId, toStudentId, consumer);
+    }
+
+    /**
+     * Stream students whose student ID lies in [fromStudentId, toStudentId] as seen by a snapshot
+     * exported with withExportedSnapshot. Always reads the database (never the in-memory replica),
+     * so every reader importing the snapshot sees exactly the same rows.
+     *
+     * @return number of students streamed
+     */
+    public long streamStudentsWithFilters(StudentFilter filter, Long fromStudentId, Long toStudentId,
+                                          String snapshotId, Consumer<StudentDto> consumer) {
+        // SET TRANSACTION SNAPSHOT takes no bind parameters, so only a well-formed ID is inlined
+        if (!SNAPSHOT_ID.matcher(snapshotId).matches()) {
+            throw new IllegalArgumentException("Invalid snapshot ID: " + snapshotId);
+        }
+        logger.info("Streaming students for export - filter: {}, range: [{}, {}], snapshot: {}",
+                filter, fromStudentId, toStudentId, snapshotId);
+
+        Long streamed = snapshotTransaction().execute(status -> {
+            jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+            return streamFromDatabase(filter, fromStudentId, toStudentId, consumer);
+        });
+        return streamed != null ? streamed : 0;
+    }
+
+    /**
+     * Run work in a read-only REPEATABLE READ transaction, passing it the ID of that transaction's
+     * exported snapshot (pg_export_snapshot). The snapshot can be imported by other transactions
+     * until work returns.
+     */
+    public <T> T withExportedSnapshot(Function<String, T> work) {
+        return snapshotTransaction().execute(status ->
+                work.apply(jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class)));
+    }
+
+    /**
+     * Split the students matching the filters into parts of (nearly) equal row count with ntile,
+     * reading the database in the current transaction.
+     *
+     * @return the first student ID of each part, ascending; empty when no student matches
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getStudentIdBoundaries(StudentFilter filter, int parts) {
+        StringBuilder numbered = new StringBuilder(
+                "SELECT student_id, ntile(?) OVER (ORDER BY student_id) AS part FROM student");
+        List<Object> params = new ArrayList<>();
+        params.add(parts);
+        appendFilters(numbered, params, filter, null, null);
+
+        return jdbcTemplate.queryForList(
+                "SELECT MIN(student_id) FROM (" + numbered + ") numbered GROUP BY part ORDER BY 1",
+                Long.class, params.toArray());
+    }
+
+    private TransactionTemplate snapshotTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return template;
+    }
+
+    private long streamFromDatabase(StudentFilter filter, Long fromStudentId, Long toStudentId,
+                                    Consumer<StudentDto> consumer) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, student_id, first_name, last_name, dob, class_name, score, created_at FROM student");
+        List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, filter, fromStudentId, toStudentId);
+        sql.append(" ORDER BY student_id ASC");
+
+        long[] count = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            consumer.accept(StudentMapper.fromResultSet(rs));
+            count[0]++;
+        });
+
+        logger.info("Streamed {} students for export", count[0]);
+        return count[0];
+    }
+
+    /**
+     * Count students matching the filters
+     */
+    @Transactional(readOnly = true)
+    public long countStudentsWithFilters(StudentFilter filter) {
+        ColumnarStudentTable replica = getReplica(filter);
+        if (replica != null) {
+            return replica.count(filter.getStudentId(), filter.getClassName(), null, null);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM student");
+        List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, filter, null, null);
+
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, params.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Check whether any student matches the filters; stops at the first matching row
+     */
+    @Transactional(readOnly = true)
+    public boolean existsStudentsWithFilters(StudentFilter filter) {
+        ColumnarStudentTable replica = getReplica(filter);
+        if (replica != null) {
+            return replica.count(filter.getStudentId(), filter.getClassName(), null, null) > 0;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT EXISTS (SELECT 1 FROM student");
+        List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, filter, null, null);
+        sql.append(")");
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql.toString(), Boolean.class, params.toArray()));
+    }
+
+    /**
+     * Upper bound on the students a filter can match, read from the per-class summary table so it
+     * costs no scan of the student table
+     */
+    public long getMaxStudentsWithFilters(StudentFilter filter) {
+        if (filter.getStudentId() != null) {
+            return 1;
+        }
+        if (filter.getClassName() != null) {
+            return classSummaryService.getCount(filter.getClassName());
+        }
+        return classSummaryService.getTotalCount();
+    }
+
+    /**
+     * Get the read replica if it can answer this filter (it only indexes student ID and class)
+     */
+    private ColumnarStudentTable getReplica(StudentFilter filter) {
+        return filter.isKeyFilterOnly() ? studentReplicaService.getTable() : null;
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> params, StudentFilter filter,
+                               Long fromStudentId, Long toStudentId) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getStudentId() != null) {
+            conditions.add("student_id = ?");
+            params.add(filter.getStudentId());
+        }
+        if (filter.getClassName() != null) {
+            conditions.add("class_name = ?");
+            params.add(filter.getClassName());
+        }
+        if (filter.getImportBatchId() != null) {
+            conditions.add("import_batch_id = ?");
+            params.add(filter.getImportBatchId());
+        }
+        if (filter.getMinScore() != null) {
+            conditions.add("score >= ?");
+            params.add(filter.getMinScore());
+        }
+        if (filter.getMaxScore() != null) {
+            conditions.add("score <= ?");
+            params.add(filter.getMaxScore());
+        }
+        if (filter.getDobFrom() != null) {
+            conditions.add("dob >= ?");
+            params.add(filter.getDobFrom());
+        }
+        if (filter.getDobTo() != null) {
+            conditions.add("dob <= ?");
+            params.add(filter.getDobTo());
+        }
+        if (fromStudentId != null) {
+            conditions.add("student_id >= ?");
+            params.add(fromStudentId);
+        }
+        if (toStudentId != null) {
+            conditions.add("student_id <= ?");
+            params.add(toStudentId);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
     /**
      * Get student by student ID
      */
     public StudentDto getStudentByStudentId(Long studentId) {
         logger.info("Fetching student by student ID: {}", studentId);
 
-        return studentRepository.findByStudentId(studentId)
-                .map(StudentMapper::toDto)
-                .orElse(null);
+        return studentCacheService.getStudent(studentId, () -> {
+            ColumnarStudentTable replica = studentReplicaService.getTable();
+            if (replica != null) {
+                return replica.findByStudentId(studentId);
+            }
+            return studentRepository.findDtoByStudentId(studentId).orElse(null);
+        });
+    }
+
+    /**
+     * Look up many students by student ID. IDs are queried {@value #LOOKUP_CHUNK_SIZE} at a time
+     * with "student_id = ANY(?)", and each chunk is handed to the consumer before the next is
+     * queried, in request order, with null for IDs that do not exist.
+     *
+     * @return number of requested IDs that were found
+     */
+    @Transactional(readOnly = true)
+    public long lookupStudents(List<Long> studentIds, BiConsumer<Long, StudentDto> consumer) {
+        long startTime = System.currentTimeMillis();
+        long found = 0;
+
+        ColumnarStudentTable replica = studentReplicaService.getTable();
+        for (int from = 0; from < studentIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = studentIds.subList(from, Math.min(studentIds.size(), from + LOOKUP_CHUNK_SIZE));
+
+            Map<Long, StudentDto> students = new HashMap<>();
+            if (replica != null) {
+                for (Long studentId : chunk) {
+                    StudentDto student = replica.findByStudentId(studentId);
+                    if (student != null) {
+                        students.put(studentId, student);
+                    }
+                }
+            } else {
+                Long[] ids = new HashSet<>(chunk).toArray(new Long[0]);
+                jdbcTemplate.query(LOOKUP_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                        (RowCallbackHandler) rs -> {
+                            StudentDto student = StudentMapper.fromResultSet(rs);
+                            students.put(student.getStudentId(), student);
+                        });
+            }
+
+            for (Long studentId : chunk) {
+                StudentDto student = students.get(studentId);
+                if (student != null) {
+                    found++;
+                }
+                consumer.accept(studentId, student);
+            }
+        }
+
+        logger.info("Looked up {} student IDs ({} found) in {} ms",
+                   studentIds.size(), found, System.currentTimeMillis() - startTime);
+        return found;
+    }
+
+    /**
+     * Get the per-class summary rows (count, score sum, min, max)
+     */
+    public List<StudentClassSummary> getClassSummaries() {
+        logger.info("Getting student class summaries");
+        return classSummaryService.getSummaries();
     }
 
     /**
@@ -79,7 +418,7 @@ public class StudentReportService {
      */
     public long getStudentCountByClass(String className) {
         logger.info("Getting student count for class: {}", className);
-        return studentRepository.countByClassName(className);
+        return classSummaryService.getCount(className);
     }
 
     /**
@@ -87,29 +426,120 @@ public class StudentReportService {
      */
     public long getTotalStudentsCount() {
         logger.info("Getting total students count");
-        return studentRepository.count();
+        return classSummaryService.getTotalCount();
     }
 
     /**
      * Check if a student exists by student ID
      */
     public boolean existsByStudentId(Long studentId) {
+        ColumnarStudentTable replica = studentReplicaService.getTable();
+        if (replica != null) {
+            return replica.findByStudentId(studentId) != null;
+        }
         return studentRepository.existsByStudentId(studentId);
     }
 
     /**
-     * Delete student by database ID
+     * Delete student by database ID in one statement, returning what the summary needs
      */
+    @Transactional
     public boolean deleteStudentById(Long id) {
         logger.info("Deleting student by ID: {}", id);
-        
-        if (studentRepository.existsById(id)) {
-            studentRepository.deleteById(id);
-            logger.info("Successfully deleted student with ID: {}", id);
-            return true;
+
+        List<StudentDto> deleted = jdbcTemplate.query(
+                "DELETE FROM student WHERE id = ? RETURNING student_id, class_name, score",
+                (rs, rowNum) -> new StudentDto(id, rs.getLong(1), null, null, null, rs.getString(2), rs.getInt(3), null),
+                id);
+        if (deleted.isEmpty()) {
+            logger.warn("Student with ID {} not found for deletion", id);
+            return false;
         }
-        
-        logger.warn("Student with ID {} not found for deletion", id);
-        return false;
+
+        StudentDto student = deleted.get(0);
+        classSummaryService.applyDelete(student.getStudentId(), student.getClassName(), student.getScore());
+        eventPublisher.publishEvent(new StudentDataChangedEvent(StudentDataChangedEvent.ChangeType.DELETE,
+                Set.of(student.getStudentId()), Set.of(student.getClassName())));
+        logger.info("Successfully deleted student with ID: {}", id);
+        return true;
+    }
+
+    /**
+     * Delete all students matching the filters with set-based DELETE statements. The matching
+     * rows are deleted {@value #DELETE_CHUNK_SIZE} at a time in student ID order, each chunk in
+     * its own short transaction together with its class summary update, so a large delete
+     * neither holds locks for long nor builds one huge transaction.
+     *
+     * @return number of students deleted
+     */
+    public long deleteStudents(String className, Long fromStudentId, Long toStudentId) {
+        if (className == null && fromStudentId == null && toStudentId == null) {
+            throw new BusinessException("At least one of className, fromStudentId and toStudentId is required");
+        }
+        logger.info("Deleting students - className: {}, range: [{}, {}]", className, fromStudentId, toStudentId);
+
+        long startTime = System.currentTimeMillis();
+        StudentFilter filter = StudentFilter.of(null, className);
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        long deleted = 0;
+        int chunks = 0;
+        Set<String> changedClassNames = new HashSet<>();
+        Long chunkFrom = fromStudentId;
+        boolean lastChunk = false;
+
+        try {
+            while (!lastChunk) {
+                Long chunkEnd = findDeleteChunkEnd(filter, chunkFrom, toStudentId);
+                lastChunk = chunkEnd == null;
+                Long chunkTo = lastChunk ? toStudentId : chunkEnd;
+
+                StringBuilder sql = new StringBuilder("WITH deleted AS (DELETE FROM student");
+                List<Object> params = new ArrayList<>();
+                appendFilters(sql, params, filter, chunkFrom, chunkTo);
+                sql.append(" RETURNING class_name, score) " +
+                           "SELECT class_name, COUNT(*), SUM(score), MIN(score), MAX(score) FROM deleted GROUP BY class_name");
+
+                ClassSummaryService.BatchSummary removed = template.execute(status -> {
+                    ClassSummaryService.BatchSummary summary = new ClassSummaryService.BatchSummary();
+                    jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> summary.add(
+                            rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getInt(5)), params.toArray());
+                    classSummaryService.applyRemovals(summary);
+                    return summary;
+                });
+
+                deleted += removed.getTotalCount();
+                changedClassNames.addAll(removed.getClassNames());
+                chunks++;
+                if (!lastChunk) {
+                    chunkFrom = chunkEnd + 1;
+                }
+            }
+        } finally {
+            if (deleted > 0) {
+                // Published once for all committed chunks, also when a later chunk fails, so listeners
+                // never keep serving rows that are already gone
+                eventPublisher.publishEvent(new StudentDataChangedEvent(
+                        StudentDataChangedEvent.ChangeType.DELETE, null, changedClassNames));
+            }
+        }
+
+        logger.info("Deleted {} students in {} chunks in {} ms", deleted, chunks, System.currentTimeMillis() - startTime);
+        return deleted;
+    }
+
+    /**
+     * Find the student ID that ends the next delete chunk, or null if fewer than a chunk's
+     * worth of matching rows remain
+     */
+    private Long findDeleteChunkEnd(StudentFilter filter, Long fromStudentId, Long toStudentId) {
+        StringBuilder sql = new StringBuilder("SELECT student_id FROM student");
+        List<Object> params = new ArrayList<>();
+        appendFilters(sql, params, filter, fromStudentId, toStudentId);
+        sql.append(" ORDER BY student_id ASC OFFSET ? LIMIT 1");
+        params.add(DELETE_CHUNK_SIZE - 1);
+
+        List<Long> ends = jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
+        return ends.isEmpty() ? null : ends.get(0);
     }
-}
\ No newline at end of file
+}
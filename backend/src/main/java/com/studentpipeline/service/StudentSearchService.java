@@ -0,0 +1,100 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.dto.StudentDto;
+import com.studentpipeline.dto.StudentSearchResponse;
+import com.studentpipeline.exception.BusinessException;
+import com.studentpipeline.util.StudentMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Case-insensitive name search over "first_name last_name", backed by a pg_trgm GIN index on that
+ * expression. Results are keyset-paged by student ID, so later pages cost the same as the first.
+ * The index comes from init.sql, or scripts/migrate-student-name-search.sql on existing databases.
+ */
+@Service
+public class StudentSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentSearchService.class);
+
+    public static final String MATCH_CONTAINS = "contains";
+    public static final String MATCH_PREFIX = "prefix";
+    // Trigram indexes cannot narrow patterns with fewer than three characters
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    // Must match the indexed expression of idx_student_name_trgm exactly
+    private static final String NAME_EXPRESSION = "(first_name || ' ' || last_name)";
+
+    private static final String SELECT_SQL =
+            "SELECT id, student_id, first_name, last_name, dob, class_name, score, created_at FROM student WHERE ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Search students by name
+     *
+     * @param query          text to find in the name, at least {@link #MIN_QUERY_LENGTH} characters
+     * @param match          {@link #MATCH_CONTAINS} (anywhere in the name) or {@link #MATCH_PREFIX}
+     *                       (start of the first or last name)
+     * @param afterStudentId return students after this student ID (null for the first page)
+     * @param size           page size
+     */
+    @Transactional(readOnly = true)
+    public StudentSearchResponse search(String query, String match, Long afterStudentId, int size) {
+        String text = query != null ? query.trim() : "";
+        if (text.length() < MIN_QUERY_LENGTH) {
+            throw new BusinessException("Search text must have at least " + MIN_QUERY_LENGTH + " characters");
+        }
+
+        long startTime = System.currentTimeMillis();
+        String escaped = escapeLike(text);
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>();
+        if (MATCH_PREFIX.equals(match)) {
+            // Both patterns are answered by the same GIN index (BitmapOr)
+            sql.append("(").append(NAME_EXPRESSION).append(" ILIKE ? OR ").append(NAME_EXPRESSION).append(" ILIKE ?)");
+            params.add(escaped + "%");
+            params.add("% " + escaped + "%");
+        } else if (MATCH_CONTAINS.equals(match)) {
+            sql.append(NAME_EXPRESSION).append(" ILIKE ?");
+            params.add("%" + escaped + "%");
+        } else {
+            throw new BusinessException("Invalid match mode: " + match + ". Supported: contains, prefix");
+        }
+
+        if (afterStudentId != null) {
+            sql.append(" AND student_id > ?");
+            params.add(afterStudentId);
+        }
+        // One extra row tells whether there is a next page
+        sql.append(" ORDER BY student_id ASC LIMIT ?");
+        params.add(size + 1);
+
+        List<StudentDto> students = jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> StudentMapper.fromResultSet(rs), params.toArray());
+
+        Long nextAfterStudentId = null;
+        if (students.size() > size) {
+            students = new ArrayList<>(students.subList(0, size));
+            nextAfterStudentId = students.get(size - 1).getStudentId();
+        }
+
+        long searchTime = System.currentTimeMillis() - startTime;
+        logger.info("Name search '{}' ({}) after {} found {} students in {} ms",
+                   text, match, afterStudentId, students.size(), searchTime);
+        return new StudentSearchResponse(text, students, nextAfterStudentId, searchTime);
+    }
+
+    private String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,79 @@
+package com.studentpipeline.util;
+
+/**
+ * AIMD controller for a write batch size. The size grows additively while throughput (rows per
+ * second) keeps up with the previous batch, and shrinks multiplicatively when throughput drops,
+ * a batch exceeds the target latency or a batch fails. It ends up oscillating just around the
+ * size with the best throughput, and follows that size when the database gets faster or slower.
+ */
+public class AdaptiveBatchSizer {
+
+    private static final double THROUGHPUT_TOLERANCE = 0.95; // within 5% of the previous batch counts as keeping up
+    private static final double LATENCY_BACKOFF = 0.5;
+    private static final double THROUGHPUT_BACKOFF = 0.75;
+
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final long targetLatencyNanos;
+
+    private int size;
+    private double lastRowsPerSecond;
+
+    public AdaptiveBatchSizer(int initialSize, int minSize, int maxSize, int step, long targetLatencyMillis) {
+        if (minSize < 1 || maxSize < minSize || step < 1 || targetLatencyMillis < 1) {
+            throw new IllegalArgumentException("Invalid batch sizer bounds: min " + minSize + ", max " + maxSize +
+                    ", step " + step + ", target latency " + targetLatencyMillis + " ms");
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = step;
+        this.targetLatencyNanos = targetLatencyMillis * 1_000_000L;
+        this.size = clamp(initialSize);
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    public synchronized double getLastRowsPerSecond() {
+        return lastRowsPerSecond;
+    }
+
+    /**
+     * Record a successfully written batch and adjust the size
+     *
+     * @return the new batch size
+     */
+    public synchronized int onSuccess(int rows, long elapsedNanos) {
+        // A short tail batch says little about the current size
+        if (rows < size / 2 || elapsedNanos <= 0) {
+            return size;
+        }
+
+        double rowsPerSecond = rows * 1_000_000_000.0 / elapsedNanos;
+        if (elapsedNanos > targetLatencyNanos) {
+            size = clamp((int) (size * LATENCY_BACKOFF));
+        } else if (rowsPerSecond >= lastRowsPerSecond * THROUGHPUT_TOLERANCE) {
+            size = clamp(size + step);
+        } else {
+            size = clamp((int) (size * THROUGHPUT_BACKOFF));
+        }
+        lastRowsPerSecond = rowsPerSecond;
+        return size;
+    }
+
+    /**
+     * Record a batch that failed and had to be split
+     *
+     * @return the new batch size
+     */
+    public synchronized int onFailure() {
+        size = clamp((int) (size * LATENCY_BACKOFF));
+        return size;
+    }
+
+    private int clamp(int value) {
+        return Math.max(minSize, Math.min(maxSize, value));
+    }
+}
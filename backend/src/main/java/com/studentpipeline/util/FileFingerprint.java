@@ -0,0 +1,77 @@
+package com.studentpipeline.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 and size of a file's content, computed in one streaming pass. Identifies
+ * resubmissions of the same file regardless of its name.
+ */
+public final class FileFingerprint {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String sha256;
+    private final long size;
+
+    public FileFingerprint(String sha256, long size) {
+        this.sha256 = sha256;
+        this.size = size;
+    }
+
+    /**
+     * Fingerprint a stream, reading it to the end
+     */
+    public static FileFingerprint of(InputStream in) throws IOException {
+        return copy(in, OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Copy a stream to a file, fingerprinting the bytes on the way through
+     */
+    public static FileFingerprint copy(InputStream in, Path target) throws IOException {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            return copy(in, out);
+        }
+    }
+
+    private static FileFingerprint copy(InputStream in, OutputStream out) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+            out.write(buffer, 0, read);
+            size += read;
+        }
+        return new FileFingerprint(HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return sha256 + " (" + size + " bytes)";
+    }
+}
@@ -0,0 +1,39 @@
+package com.studentpipeline.util;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Helpers for sending files on disk as HTTP response bodies
+ */
+public class FileStreaming {
+
+    private FileStreaming() {
+        // Utility class - private constructor
+    }
+
+    /**
+     * Response body that sends length bytes of the file starting at position using
+     * FileChannel.transferTo, leaving the copy to the channel instead of a heap buffer loop
+     */
+    public static StreamingResponseBody transfer(Path file, long position, long length) {
+        return outputStream -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long sent = 0;
+                while (sent < length) {
+                    long transferred = channel.transferTo(position + sent, length - sent, target);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    sent += transferred;
+                }
+            }
+        };
+    }
+}
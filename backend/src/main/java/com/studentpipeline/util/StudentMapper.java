@@ -4,6 +4,10 @@ import com.studentpipeline.dto.StudentDto;
 import com.studentpipeline.entity.Student;
 import com.studentpipeline.model.StudentRow;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
 /**
  * Mapper utility class for converting between different student representations
  */
@@ -131,4 +135,22 @@ public class StudentMapper {
             dto.getScore()
         );
     }
+
+    /**
+     * Convert a JDBC result set row (student table columns) to StudentDto
+     */
+    public static StudentDto fromResultSet(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+
+        return new StudentDto(
+            rs.getLong("id"),
+            rs.getLong("student_id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getDate("dob").toLocalDate(),
+            rs.getString("class_name"),
+            rs.getInt("score"),
+            createdAt != null ? createdAt.toLocalDateTime() : null
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.studentpipeline.util;
+
+import com.studentpipeline.dto.StudentDto;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Parquet schema and record conversion for the student table
+ */
+public class StudentParquetMapper {
+
+    /**
+     * Column layout mirrors the student table. DOB is stored as a DATE (days since epoch)
+     * and created_at as UTC milliseconds so both stay fixed-width and cheap to scan.
+     */
+    public static final MessageType SCHEMA = MessageTypeParser.parseMessageType(
+            "message student {\n" +
+            "  required int64 id;\n" +
+            "  required int64 student_id;\n" +
+            "  required binary first_name (UTF8);\n" +
+            "  required binary last_name (UTF8);\n" +
+            "  required int32 dob (DATE);\n" +
+            "  required binary class_name (UTF8);\n" +
+            "  required int32 score;\n" +
+            "  optional int64 created_at (TIMESTAMP_MILLIS);\n" +
+            "}");
+
+    private StudentParquetMapper() {
+        // Utility class - private constructor
+    }
+
+    /**
+     * Convert StudentDto to a Parquet record
+     */
+    public static Group toGroup(SimpleGroupFactory factory, StudentDto student) {
+        Group group = factory.newGroup()
+            .append("id", student.getId() != null ? student.getId() : 0L)
+            .append("student_id", student.getStudentId())
+            .append("first_name", student.getFirstName())
+            .append("last_name", student.getLastName())
+            .append("dob", (int) student.getDob().toEpochDay())
+            .append("class_name", student.getClassName())
+            .append("score", student.getScore());
+
+        if (student.getCreatedAt() != null) {
+            group.append("created_at", student.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        return group;
+    }
+
+    /**
+     * Convert a Parquet record to StudentDto
+     */
+    public static StudentDto fromGroup(Group group) {
+        LocalDateTime createdAt = null;
+        if (group.getFieldRepetitionCount("created_at") > 0) {
+            createdAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(group.getLong("created_at", 0)), ZoneOffset.UTC);
+        }
+
+        return new StudentDto(
+            group.getLong("id", 0),
+            group.getLong("student_id", 0),
+            group.getString("first_name", 0),
+            group.getString("last_name", 0),
+            LocalDate.ofEpochDay(group.getInteger("dob", 0)),
+            group.getString("class_name", 0),
+            group.getInteger("score", 0),
+            createdAt
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.studentpipeline.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * 64-bit FNV-1a hash of a student's data columns (everything except the keys and timestamps),
+ * stored in student.row_hash so upserts can skip rows whose content has not changed
+ */
+public final class StudentRowHash {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final byte SEPARATOR = 0x1f; // ASCII unit separator, never part of a name
+
+    private StudentRowHash() {
+        // Utility class - private constructor
+    }
+
+    public static long of(String firstName, String lastName, LocalDate dob, String className, int score) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = update(hash, firstName);
+        hash = update(hash, lastName);
+        hash = update(hash, dob != null ? dob.toString() : "");
+        hash = update(hash, className);
+        hash = update(hash, Integer.toString(score));
+        return hash;
+    }
+
+    private static long update(long hash, String value) {
+        if (value != null) {
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            }
+        }
+        return (hash ^ SEPARATOR) * FNV_PRIME;
+    }
+}
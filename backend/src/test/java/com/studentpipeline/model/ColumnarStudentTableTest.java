@@ -0,0 +1,105 @@
+package com.studentpipeline.model;
+
+import com.studentpipeline.dto.StudentDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarStudentTableTest {
+
+    private ColumnarStudentTable table;
+
+    @BeforeEach
+    void setUp() {
+        ColumnarStudentTable.Builder builder = ColumnarStudentTable.builder(0);
+        for (long studentId = 1; studentId <= 100; studentId++) {
+            builder.add(student(studentId, "Class" + (studentId % 5 + 1)));
+        }
+        table = builder.build();
+    }
+
+    @Test
+    void testFindByStudentId_RoundTripsAllColumns() {
+        // When
+        StudentDto result = table.findByStudentId(42L);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1042L, result.getId());
+        assertEquals(42L, result.getStudentId());
+        assertEquals("First42", result.getFirstName());
+        assertEquals("Last42", result.getLastName());
+        assertEquals(LocalDate.of(2005, 1, 1).plusDays(42), result.getDob());
+        assertEquals("Class3", result.getClassName());
+        assertEquals(92, result.getScore());
+        assertEquals(LocalDateTime.of(2024, 5, 6, 7, 8, 9), result.getCreatedAt());
+        assertNull(table.findByStudentId(1000L));
+    }
+
+    @Test
+    void testPageAndCount_WithClassFilter() {
+        // When
+        List<StudentDto> page = table.page(null, "Class1", 5, 3);
+
+        // Then
+        assertEquals(20, table.count(null, "Class1", null, null));
+        assertEquals(List.of(30L, 35L, 40L), studentIds(page));
+        assertEquals(0, table.count(null, "Unknown", null, null));
+    }
+
+    @Test
+    void testForEachAndRange_WithStudentIdBounds() {
+        // When
+        long streamed = table.forEach(null, null, 10L, 19L, student -> { });
+        long[] range = table.studentIdRange(null, "Class2");
+
+        // Then
+        assertEquals(10, streamed);
+        assertEquals(1, table.count(7L, null, null, null));
+        assertArrayEquals(new long[]{1L, 96L}, range);
+    }
+
+    @Test
+    void testWithChanges_RemovesReplacesAndInserts() {
+        // Given
+        StudentDto replaced = student(50L, "Class9");
+        StudentDto inserted = student(150L, "Class1");
+
+        // When
+        ColumnarStudentTable changed = table.withChanges(Set.of(1L, 2L), List.of(inserted, replaced));
+
+        // Then
+        assertEquals(99, changed.size());
+        assertNull(changed.findByStudentId(1L));
+        assertEquals("Class9", changed.findByStudentId(50L).getClassName());
+        assertNotNull(changed.findByStudentId(150L));
+        assertEquals(100, table.size());
+        assertEquals("Class1", table.findByStudentId(50L).getClassName());
+    }
+
+    @Test
+    void testBuilder_RejectsUnsortedRows() {
+        // Given
+        ColumnarStudentTable.Builder builder = ColumnarStudentTable.builder(2).add(student(5L, "Class1"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> builder.add(student(5L, "Class1")));
+    }
+
+    private StudentDto student(long studentId, String className) {
+        return new StudentDto(1000 + studentId, studentId, "First" + studentId, "Last" + studentId,
+                LocalDate.of(2005, 1, 1).plusDays(studentId), className, (int) (50 + studentId),
+                LocalDateTime.of(2024, 5, 6, 7, 8, 9));
+    }
+
+    private List<Long> studentIds(List<StudentDto> students) {
+        return students.stream().map(StudentDto::getStudentId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,213 @@
+package com.studentpipeline.repository;
+
+import com.studentpipeline.model.StudentFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the plans of the filtered, student ID ordered queries built by {@link StudentSpecifications}
+ * against a 1M-row student table. The SQL is the statement Hibernate actually generates for the
+ * repository call, captured with a StatementInspector and explained with the call's parameter values.
+ * Needs the PostgreSQL database of application.yml with the init.sql schema, so it only runs with
+ * -Dexplain.tests=true:
+ * <pre>mvn test -Dtest=StudentQueryPlanIntegrationTest -Dexplain.tests=true</pre>
+ * The rows are inserted in the test transaction and rolled back afterwards.
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfSystemProperty(named = "explain.tests", matches = "true")
+class StudentQueryPlanIntegrationTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final Sort BY_STUDENT_ID = Sort.by("studentId").ascending();
+    private static final List<String> GENERATED_SQL = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureSqlConfig {
+        @Bean
+        HibernatePropertiesCustomizer captureGeneratedSql() {
+            StatementInspector inspector = sql -> {
+                GENERATED_SQL.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    void setUp() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student", Long.class);
+        if (existing == null || existing < ROWS) {
+            jdbcTemplate.update("INSERT INTO student (student_id, first_name, last_name, dob, class_name, score) " +
+                    "SELECT 900000000 + g, 'First' || g, 'Last' || g, DATE '2005-01-01' + (g % 3650), " +
+                    "'Class' || (g % 5 + 1), 60 + (g % 26) FROM generate_series(1, ?) g", ROWS);
+        }
+        jdbcTemplate.execute("ANALYZE student");
+    }
+
+    @Test
+    void classFilterPage_UsesIndexRangeScan() {
+        // Given / When
+        String plan = explainPage(StudentFilter.of(null, "Class3"), PageRequest.of(250, 20, BY_STUDENT_ID),
+                "Class3", 5000, 20);
+
+        // Then
+        assertNoSeqScan(plan);
+        assertTrue(plan.contains("idx_student_class_name_student_id"), plan);
+        assertNoSort(plan);
+    }
+
+    @Test
+    void studentIdAndClassFilterPage_UsesIndexScan() {
+        // Given / When
+        String plan = explainPage(StudentFilter.of(900000123L, "Class4"), PageRequest.of(0, 20, BY_STUDENT_ID),
+                900000123L, "Class4", 20);
+
+        // Then
+        assertNoSeqScan(plan);
+    }
+
+    @Test
+    void unfilteredPage_UsesStudentIdIndex() {
+        // Given / When
+        String plan = explainPage(StudentFilter.none(), PageRequest.of(0, 20, BY_STUDENT_ID), 20);
+
+        // Then
+        assertNoSeqScan(plan);
+    }
+
+    @Test
+    void classFilterExport_UsesIndexInStudentIdOrder() {
+        // Given / When
+        String plan = explainExport(StudentFilter.of(null, "Class2"), "Class2");
+
+        // Then
+        assertNoSeqScan(plan);
+        assertNoSort(plan);
+    }
+
+    @Test
+    void scoreRangeExport_UsesScoreIndex() {
+        // Given / When - an export with minScore=85&maxScore=85
+        String plan = explainExport(StudentFilter.builder().scoreRange(85, 85).build(), 85, 85);
+
+        // Then
+        assertNoSeqScan(plan);
+        assertTrue(plan.contains("idx_student_score"), plan);
+    }
+
+    @Test
+    void scoreRangePage_UsesIndexScan() {
+        // Given / When
+        String plan = explainPage(StudentFilter.builder().scoreRange(70, 80).build(),
+                PageRequest.of(0, 20, BY_STUDENT_ID), 70, 80, 20);
+
+        // Then
+        assertNoSeqScan(plan);
+    }
+
+    @Test
+    void dobRangeExport_UsesDobIndex() {
+        // Given / When - an export with dobFrom=2006-01-01&dobTo=2006-01-31
+        LocalDate from = LocalDate.of(2006, 1, 1);
+        LocalDate to = LocalDate.of(2006, 1, 31);
+        String plan = explainExport(StudentFilter.builder().dobRange(from, to).build(), from, to);
+
+        // Then
+        assertNoSeqScan(plan);
+        assertTrue(plan.contains("idx_student_dob"), plan);
+    }
+
+    /**
+     * Explain the page query of StudentRepository.findDtos; values are its bind parameters in order
+     * (filter values, then offset when non-zero, then the page size)
+     */
+    private String explainPage(StudentFilter filter, Pageable pageable, Object... values) {
+        GENERATED_SQL.clear();
+        studentRepository.findDtos(StudentSpecifications.withFilters(filter), pageable);
+        return explainGenerated(values);
+    }
+
+    /**
+     * Explain the query of StudentRepository.findAllDtos in student ID order; values are its bind parameters
+     */
+    private String explainExport(StudentFilter filter, Object... values) {
+        GENERATED_SQL.clear();
+        studentRepository.findAllDtos(StudentSpecifications.withFilters(filter), BY_STUDENT_ID);
+        return explainGenerated(values);
+    }
+
+    private String explainGenerated(Object... values) {
+        assertFalse(GENERATED_SQL.isEmpty(), "no SQL was generated");
+        String sql = GENERATED_SQL.get(0);
+
+        // The JDBC placeholders become $n of a prepared statement, so the planner sees the real values
+        StringBuilder prepared = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameter);
+            } else {
+                prepared.append(c);
+            }
+        }
+        assertEquals(values.length, parameter, "parameter values do not match the generated SQL:\n" + sql);
+
+        StringBuilder arguments = new StringBuilder();
+        for (Object value : values) {
+            if (arguments.length() > 0) {
+                arguments.append(", ");
+            }
+            arguments.append(value instanceof Number ? value.toString()
+                    : "'" + value.toString().replace("'", "''") + "'");
+        }
+
+        jdbcTemplate.execute("PREPARE generated_query AS " + prepared);
+        try {
+            String executeSql = parameter == 0 ? "EXECUTE generated_query"
+                    : "EXECUTE generated_query(" + arguments + ")";
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + executeSql, String.class);
+            return String.join("\n", lines);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE generated_query");
+        }
+    }
+
+    private void assertNoSeqScan(String plan) {
+        assertFalse(plan.contains("Seq Scan"), "expected an index scan:\n" + plan);
+    }
+
+    // A Merge Append over several batch partitions also prints a Sort Key, so look for Sort nodes only
+    private void assertNoSort(String plan) {
+        for (String line : plan.split("\n")) {
+            String node = line.trim().replaceFirst("^->\\s+", "");
+            assertFalse(node.startsWith("Sort ") || node.startsWith("Incremental Sort "),
+                    "rows should come back in index order:\n" + plan);
+        }
+    }
+}
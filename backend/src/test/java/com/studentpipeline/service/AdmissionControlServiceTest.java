@@ -0,0 +1,132 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.AdmissionConfig;
+import com.studentpipeline.exception.OverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlServiceTest {
+
+    @Spy
+    private AdmissionConfig admissionConfig = new AdmissionConfig();
+
+    @InjectMocks
+    private AdmissionControlService admissionControlService;
+
+    private long budget;
+
+    @BeforeEach
+    void setUp() {
+        admissionConfig.setQueueTimeoutMs(0);
+        admissionConfig.setMaxUploads(2);
+        admissionConfig.setRetryAfterSeconds(15);
+        admissionControlService.init();
+        budget = Runtime.getRuntime().maxMemory() / 100 * admissionConfig.getMemoryBudgetPercent();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testAdmit_RejectsBeyondConcurrencyLimit() {
+        // Given
+        admissionControlService.admit(AdmissionControlService.Operation.UPLOAD, 1);
+        admissionControlService.admit(AdmissionControlService.Operation.UPLOAD, 1);
+
+        // When
+        OverloadedException e = assertThrows(OverloadedException.class,
+                () -> admissionControlService.admit(AdmissionControlService.Operation.UPLOAD, 1));
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+        assertEquals(15, e.getRetryAfterSeconds());
+        // Other operation types have their own slots
+        assertNotNull(admissionControlService.admit(AdmissionControlService.Operation.EXPORT, 1));
+    }
+
+    @Test
+    void testAdmit_ClosedPermitFreesSlotOnce() {
+        // Given
+        AdmissionControlService.Permit first = admissionControlService.admit(AdmissionControlService.Operation.UPLOAD, 1);
+        admissionControlService.admit(AdmissionControlService.Operation.UPLOAD, 1);
+
+        // When
+        first.close();
+        first.close();
+
+        // Then
+        assertNotNull(admissionControlService.admit(AdmissionControlService.Operation.UPLOAD, 1));
+        assertThrows(OverloadedException.class,
+                () -> admissionControlService.admit(AdmissionControlService.Operation.UPLOAD, 1));
+    }
+
+    @Test
+    void testAdmit_RejectsWhenMemoryBudgetExhausted() {
+        // Given
+        admissionControlService.admit(AdmissionControlService.Operation.GENERATION, budget / 2 + 1);
+
+        // When / Then
+        assertThrows(OverloadedException.class,
+                () -> admissionControlService.admit(AdmissionControlService.Operation.EXPORT, budget / 2));
+    }
+
+    @Test
+    void testAdmit_OversizedOperationRunsAlone() {
+        // When
+        AdmissionControlService.Permit permit = admissionControlService.admit(
+                AdmissionControlService.Operation.CONVERSION, budget * 10);
+
+        // Then
+        assertThrows(OverloadedException.class,
+                () -> admissionControlService.admit(AdmissionControlService.Operation.EXPORT, 1));
+        permit.close();
+        assertNotNull(admissionControlService.admit(AdmissionControlService.Operation.EXPORT, 1));
+    }
+
+    @Test
+    void testReleaseAfter_StreamThatNeverRunsFreesSlotOnAsyncCompletion() throws Exception {
+        // Given
+        admissionConfig.setMaxExports(1);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+        AdmissionControlService.Permit permit = admissionControlService.admit(AdmissionControlService.Operation.EXPORT, 1);
+        ResponseEntity<?> entity = permit.releaseAfter(ResponseEntity.ok((StreamingResponseBody) out -> { }));
+
+        // When: the body goes to an executor that never runs it, then the async request ends
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        asyncManager.setTaskExecutor(mock(AsyncTaskExecutor.class));
+        asyncManager.startCallableProcessing(() -> entity.getBody());
+        assertThrows(OverloadedException.class,
+                () -> admissionControlService.admit(AdmissionControlService.Operation.EXPORT, 1));
+        request.getAsyncContext().complete();
+
+        // Then
+        assertNotNull(admissionControlService.admit(AdmissionControlService.Operation.EXPORT, 1));
+    }
+}
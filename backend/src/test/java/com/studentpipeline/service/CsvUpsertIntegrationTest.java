@@ -0,0 +1,78 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.dto.FileOperationResponse;
+import com.studentpipeline.entity.Student;
+import com.studentpipeline.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs CSV uploads in insert and upsert mode against the PostgreSQL database of application.yml
+ * with the init.sql schema, so it only runs with -Dexplain.tests=true:
+ * <pre>mvn test -Dtest=CsvUpsertIntegrationTest -Dexplain.tests=true</pre>
+ * Everything, including the batch partitions, is rolled back with the test transaction.
+ */
+@SpringBootTest
+@Transactional
+@EnabledIfSystemProperty(named = "explain.tests", matches = "true")
+class CsvUpsertIntegrationTest {
+
+    private static final String HEADER = "studentId,firstName,lastName,DOB,class,score\n";
+
+    @Autowired
+    private CsvToDatabaseService csvToDatabaseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testUpsert_UpdatesChangedRowsOnly() throws Exception {
+        // Given
+        upload(false, "990000001,Ann,Lee,2005-01-01,Class1,70\n990000002,Bob,Ray,2005-02-02,Class2,72\n");
+        String unchangedRow = rowLocation(990000001L);
+
+        // When - the first row is unchanged, the second has a new score
+        FileOperationResponse response = upload(true,
+                "990000001,Ann,Lee,2005-01-01,Class1,70\n990000002,Bob,Ray,2005-02-02,Class2,80\n");
+
+        // Then
+        assertEquals(1L, response.getRecordsUpdated());
+        assertEquals(0L, response.getRecordsProcessed());
+        // An UPDATE writes a new row version, which would move the row to a new ctid
+        assertEquals(unchangedRow, rowLocation(990000001L));
+        assertEquals(75, studentRepository.findByStudentId(990000002L).map(Student::getScore).orElseThrow());
+    }
+
+    @Test
+    void testUpload_RepeatedStudentIdKeepsLastRow() throws Exception {
+        // When
+        upload(true, "990000003,First,Row,2005-01-01,Class1,70\n990000003,Last,Row,2005-01-01,Class3,70\n");
+
+        // Then
+        Student student = studentRepository.findByStudentId(990000003L).orElseThrow();
+        assertEquals("Last", student.getFirstName());
+        assertEquals("Class3", student.getClassName());
+    }
+
+    private FileOperationResponse upload(boolean upsert, String rows) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+                (HEADER + rows).getBytes(StandardCharsets.UTF_8));
+        return csvToDatabaseService.uploadCsvToDatabase(file, upsert, true);
+    }
+
+    private String rowLocation(long studentId) {
+        return jdbcTemplate.queryForObject("SELECT ctid::text FROM student WHERE student_id = ?", String.class, studentId);
+    }
+}
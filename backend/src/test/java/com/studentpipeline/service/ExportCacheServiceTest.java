@@ -0,0 +1,139 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.DataPathConfig;
+import com.studentpipeline.config.ExportCacheConfig;
+import com.studentpipeline.event.StudentDataChangedEvent;
+import com.studentpipeline.model.StudentFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportCacheServiceTest {
+
+    @Mock
+    private DataPathConfig dataPathConfig;
+
+    @Mock
+    private ExportService exportService;
+
+    @Spy
+    private ExportCacheConfig exportCacheConfig = new ExportCacheConfig();
+
+    @Spy
+    private DataVersionService dataVersionService = new DataVersionService();
+
+    @InjectMocks
+    private ExportCacheService exportCacheService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path tempDir = Files.createTempDirectory("test-export-cache");
+        lenient().when(dataPathConfig.getBase()).thenReturn(tempDir.toString());
+        lenient().when(exportService.getFileExtension("csv")).thenReturn("csv");
+        lenient().when(exportService.writeExport(eq("csv"), any(Path.class), any(), anyBoolean())).thenAnswer(invocation -> {
+            Files.write(invocation.getArgument(1), new byte[1024]);
+            return 10L;
+        });
+    }
+
+    @Test
+    void testGetOrRender_HitAfterMiss() throws IOException {
+        // When
+        ExportCacheService.CachedExport first = exportCacheService.getOrRender("csv", StudentFilter.of(null, "Class1"), false);
+        ExportCacheService.CachedExport second = exportCacheService.getOrRender("csv", StudentFilter.of(null, "Class1"), false);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(10L, second.getRows());
+        assertEquals(1024L, second.getSize());
+        verify(exportService, times(1)).writeExport(eq("csv"), any(Path.class), any(), anyBoolean());
+    }
+
+    @Test
+    void testGetOrRender_VersionBumpInvalidates() throws IOException {
+        // Given
+        String etagBefore = exportCacheService.getETag("csv", StudentFilter.of(null, "Class1"), false);
+        exportCacheService.getOrRender("csv", StudentFilter.of(null, "Class1"), false);
+
+        // When
+        dataVersionService.onStudentDataChanged(
+                StudentDataChangedEvent.allStudents(StudentDataChangedEvent.ChangeType.INSERT));
+        ExportCacheService.CachedExport export = exportCacheService.getOrRender("csv", StudentFilter.of(null, "Class1"), false);
+
+        // Then
+        assertNotEquals(etagBefore, export.getEtag());
+        verify(exportService, times(2)).writeExport(eq("csv"), any(Path.class), any(), anyBoolean());
+    }
+
+    @Test
+    void testGetOrRender_EvictsLeastRecentlyUsedOverBudget() throws IOException {
+        // Given a zero budget only the newest entry survives
+        exportCacheConfig.setMaxSizeMb(0);
+        ExportCacheService.CachedExport first = exportCacheService.getOrRender("csv", StudentFilter.of(null, "Class1"), false);
+
+        // When
+        ExportCacheService.CachedExport second = exportCacheService.getOrRender("csv", StudentFilter.of(null, "Class2"), false);
+
+        // Then
+        assertFalse(Files.exists(first.getFile()));
+        assertTrue(Files.exists(second.getFile()));
+    }
+
+    @Test
+    void testGetOrRender_ConcurrentMissesRenderOnce() throws Exception {
+        // Given a render that blocks until released
+        CountDownLatch renderStarted = new CountDownLatch(1);
+        CountDownLatch releaseRender = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            renderStarted.countDown();
+            releaseRender.await(5, TimeUnit.SECONDS);
+            Files.write(invocation.getArgument(1), new byte[1024]);
+            return 10L;
+        }).when(exportService).writeExport(eq("csv"), any(Path.class), any(), anyBoolean());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<ExportCacheService.CachedExport> first = executor.submit(
+                    () -> exportCacheService.getOrRender("csv", StudentFilter.of(null, "Class1"), false));
+            assertTrue(renderStarted.await(5, TimeUnit.SECONDS));
+            Future<ExportCacheService.CachedExport> second = executor.submit(
+                    () -> exportCacheService.getOrRender("csv", StudentFilter.of(null, "Class1"), false));
+            Thread.sleep(100); // Let the second request find the render in flight
+            releaseRender.countDown();
+
+            // Then
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            verify(exportService, times(1)).writeExport(eq("csv"), any(Path.class), any(), anyBoolean());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMatchesETag() {
+        assertTrue(exportCacheService.matchesETag("\"abc\"", "\"abc\""));
+        assertTrue(exportCacheService.matchesETag("W/\"abc\", \"def\"", "\"abc\""));
+        assertTrue(exportCacheService.matchesETag("*", "\"abc\""));
+        assertFalse(exportCacheService.matchesETag("\"def\"", "\"abc\""));
+        assertFalse(exportCacheService.matchesETag(null, "\"abc\""));
+    }
+}
@@ -0,0 +1,100 @@
+package com.studentpipeline.service;
+
+import com.studentpipeline.config.DataPathConfig;
+import com.studentpipeline.config.ExportJobConfig;
+import com.studentpipeline.dto.ExportJobRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    @Mock
+    private DataPathConfig dataPathConfig;
+
+    @Mock
+    private ExportService exportService;
+
+    @Mock
+    private StudentReportService studentReportService;
+
+    @Spy
+    private ProgressTracker progressTracker = new ProgressTracker();
+
+    @Spy
+    private ExportJobConfig exportJobConfig = new ExportJobConfig();
+
+    @InjectMocks
+    private ExportJobService exportJobService;
+
+    private Path exportsDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path tempDir = Files.createTempDirectory("test-export-jobs");
+        exportsDir = tempDir.resolve("exports");
+        lenient().when(dataPathConfig.getBase()).thenReturn(tempDir.toString());
+        lenient().when(exportService.getFileExtension("csv")).thenReturn("csv");
+    }
+
+    @Test
+    void testRunExport_ReportsProgressPerRowWindow() throws IOException {
+        // Given
+        String operationId = UUID.randomUUID().toString();
+        when(studentReportService.countStudentsWithFilters(any())).thenReturn(30_000L);
+        doAnswer(invocation -> {
+            LongConsumer progress = invocation.getArgument(4);
+            progress.accept(10_000);
+            progress.accept(10_000);
+            Files.write(invocation.getArgument(1), new byte[16]);
+            return 30_000L;
+        }).when(exportService).writeExport(eq("csv"), any(Path.class), any(), anyBoolean(), any());
+
+        // When
+        exportJobService.runExport(operationId, new ExportJobRequest("csv", null, null, null, false));
+
+        // Then
+        verify(progressTracker).updateProgress(eq(operationId), eq(10_000L), anyString());
+        verify(progressTracker).updateProgress(eq(operationId), eq(20_000L), anyString());
+        assertTrue(progressTracker.getProgress(operationId).isCompleted());
+        assertNotNull(exportJobService.findExportFile(operationId));
+    }
+
+    @Test
+    void testRemoveExpiredExports_DeletesOnlyExpiredFiles() throws IOException {
+        // Given
+        Files.createDirectories(exportsDir);
+        String expiredId = UUID.randomUUID().toString();
+        String freshId = UUID.randomUUID().toString();
+        Path expired = Files.write(exportsDir.resolve(expiredId + ".csv"), new byte[16]);
+        Files.write(exportsDir.resolve(freshId + ".csv"), new byte[16]);
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        progressTracker.startProgress(expiredId, 1);
+
+        // When
+        exportJobService.removeExpiredExports();
+
+        // Then
+        assertNull(exportJobService.findExportFile(expiredId));
+        assertNotNull(exportJobService.findExportFile(freshId));
+        assertNull(progressTracker.getProgress(expiredId));
+    }
+}
@@ -0,0 +1,77 @@
+package com.studentpipeline.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBatchSizerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testOnSuccess_GrowsWhileThroughputKeepsUp() {
+        // Given - every batch takes 10 ms regardless of size, so bigger batches are faster per row
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, 100, 5000, 500, 1000);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            sizer.onSuccess(sizer.getSize(), 10 * MS);
+        }
+
+        // Then
+        assertEquals(5000, sizer.getSize());
+    }
+
+    @Test
+    void testOnSuccess_HalvesWhenOverTargetLatency() {
+        // Given
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(4000, 100, 5000, 500, 1000);
+
+        // When
+        int size = sizer.onSuccess(4000, 1500 * MS);
+
+        // Then
+        assertEquals(2000, size);
+    }
+
+    @Test
+    void testOnSuccess_SettlesWhereThroughputPeaks() {
+        // Given - a database whose per-row cost rises above 3000 rows per batch
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, 100, 20000, 500, 10_000);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            int rows = sizer.getSize();
+            long nanos = 5 * MS + rows * 1000L + Math.max(0, rows - 3000) * 20_000L;
+            sizer.onSuccess(rows, nanos);
+        }
+
+        // Then
+        assertTrue(sizer.getSize() >= 1500 && sizer.getSize() <= 4500, "size " + sizer.getSize());
+    }
+
+    @Test
+    void testOnSuccess_IgnoresShortTailBatch() {
+        // Given
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, 100, 5000, 500, 1000);
+
+        // When
+        int size = sizer.onSuccess(10, 50 * MS);
+
+        // Then
+        assertEquals(1000, size);
+    }
+
+    @Test
+    void testOnFailure_StaysWithinBounds() {
+        // Given
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(300, 100, 5000, 500, 1000);
+
+        // When
+        sizer.onFailure();
+        int size = sizer.onFailure();
+
+        // Then
+        assertEquals(100, size);
+    }
+}
@@ -0,0 +1,49 @@
+package com.studentpipeline.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileFingerprintTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testOf_KnownDigest() throws Exception {
+        // Given
+        byte[] content = "abc".getBytes(StandardCharsets.US_ASCII);
+
+        // When
+        FileFingerprint fingerprint = FileFingerprint.of(new ByteArrayInputStream(content));
+
+        // Then
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", fingerprint.getSha256());
+        assertEquals(3, fingerprint.getSize());
+    }
+
+    @Test
+    void testCopy_WritesContentAndMatchesOf() throws Exception {
+        // Given
+        byte[] content = new byte[200_000]; // spans several read buffers
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        Path target = tempDir.resolve("copy.bin");
+
+        // When
+        FileFingerprint copied = FileFingerprint.copy(new ByteArrayInputStream(content), target);
+        FileFingerprint read = FileFingerprint.of(new ByteArrayInputStream(content));
+
+        // Then
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(read.getSha256(), copied.getSha256());
+        assertEquals(content.length, copied.getSize());
+    }
+}
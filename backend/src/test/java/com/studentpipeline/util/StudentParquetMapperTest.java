@@ -0,0 +1,52 @@
+package com.studentpipeline.util;
+
+import com.studentpipeline.dto.StudentDto;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentParquetMapperTest {
+
+    private final SimpleGroupFactory factory = new SimpleGroupFactory(StudentParquetMapper.SCHEMA);
+
+    @Test
+    void testRoundTrip_AllFields() {
+        // Given
+        StudentDto student = new StudentDto(7L, 1001L, "Jane", "Smith",
+                LocalDate.of(2005, 3, 14), "Class3", 72, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        // When
+        Group group = StudentParquetMapper.toGroup(factory, student);
+        StudentDto result = StudentParquetMapper.fromGroup(group);
+
+        // Then
+        assertEquals(student.getId(), result.getId());
+        assertEquals(student.getStudentId(), result.getStudentId());
+        assertEquals(student.getFirstName(), result.getFirstName());
+        assertEquals(student.getLastName(), result.getLastName());
+        assertEquals(student.getDob(), result.getDob());
+        assertEquals(student.getClassName(), result.getClassName());
+        assertEquals(student.getScore(), result.getScore());
+        assertEquals(student.getCreatedAt(), result.getCreatedAt());
+    }
+
+    @Test
+    void testRoundTrip_MissingCreatedAt() {
+        // Given
+        StudentDto student = new StudentDto(null, 2002L, "John", "Brown",
+                LocalDate.of(2001, 12, 31), "Class1", 60, null);
+
+        // When
+        StudentDto result = StudentParquetMapper.fromGroup(StudentParquetMapper.toGroup(factory, student));
+
+        // Then
+        assertEquals(0L, result.getId());
+        assertEquals(2002L, result.getStudentId());
+        assertNull(result.getCreatedAt());
+    }
+}
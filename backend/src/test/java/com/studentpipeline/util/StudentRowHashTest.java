@@ -0,0 +1,48 @@
+package com.studentpipeline.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentRowHashTest {
+
+    private static final LocalDate DOB = LocalDate.of(2005, 1, 1);
+
+    @Test
+    void testOf_KnownFnv1aValue() {
+        // When - FNV-1a 64 of "Ann␟Lee␟2005-01-01␟Class1␟70␟" (␟ = 0x1f)
+        long hash = StudentRowHash.of("Ann", "Lee", DOB, "Class1", 70);
+
+        // Then
+        assertEquals(-3157143751794533824L, hash);
+    }
+
+    @Test
+    void testOf_SameContentSameHash() {
+        // When / Then
+        assertEquals(StudentRowHash.of("Ann", "Lee", DOB, "Class1", 70),
+                StudentRowHash.of("Ann", "Lee", LocalDate.parse("2005-01-01"), "Class1", 70));
+    }
+
+    @Test
+    void testOf_EveryColumnChangesHash() {
+        // Given
+        long hash = StudentRowHash.of("Ann", "Lee", DOB, "Class1", 70);
+
+        // When / Then
+        assertNotEquals(hash, StudentRowHash.of("Anna", "Lee", DOB, "Class1", 70));
+        assertNotEquals(hash, StudentRowHash.of("Ann", "Leee", DOB, "Class1", 70));
+        assertNotEquals(hash, StudentRowHash.of("Ann", "Lee", DOB.plusDays(1), "Class1", 70));
+        assertNotEquals(hash, StudentRowHash.of("Ann", "Lee", DOB, "Class2", 70));
+        assertNotEquals(hash, StudentRowHash.of("Ann", "Lee", DOB, "Class1", 71));
+    }
+
+    @Test
+    void testOf_SeparatorKeepsColumnBoundaries() {
+        // When / Then - the same characters split differently between first and last name
+        assertNotEquals(StudentRowHash.of("Ann", "Lee", DOB, "Class1", 70),
+                StudentRowHash.of("AnnL", "ee", DOB, "Class1", 70));
+    }
+}